@@ -0,0 +1,64 @@
+#!/usr/bin/env bash
+#
+# Prueba de carga de /products: hilos de plataforma frente a hilos virtuales
+#
+# Arranca la aplicación en cada modo, lanza ProductsLoadTest con el número de
+# conexiones concurrentes indicado y guarda el resultado (throughput, p50, p99)
+# en target/load-<modo>.json. El modo de hilos virtuales requiere Java 21.
+#
+# Uso: ./load-test.sh [platform] [virtual-threads]
+#   CONCURRENCY=5000 WARMUP=10 DURATION=60 PORT=8080 ./load-test.sh
+
+set -euo pipefail
+cd "$(dirname "$0")"
+
+CONCURRENCY=${CONCURRENCY:-5000}
+WARMUP=${WARMUP:-10}
+DURATION=${DURATION:-60}
+PORT=${PORT:-8080}
+MODES=("$@")
+if [ ${#MODES[@]} -eq 0 ]; then
+  MODES=(platform virtual-threads)
+fi
+
+JAR=../target/inventory-api-1.0.0-exec.jar
+if [ ! -f "$JAR" ]; then
+  (cd .. && mvn -B -q package -DskipTests)
+fi
+mvn -B -q compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+CLASSPATH="target/classes:$(cat target/classpath.txt)"
+
+# Cliente y servidor comparten máquina: hacen falta dos descriptores por conexión
+ulimit -n 65536 2>/dev/null || echo "Aviso: no se pudo ampliar ulimit -n ($(ulimit -n))"
+
+for mode in "${MODES[@]}"; do
+  profile_args=()
+  if [ "$mode" != "platform" ]; then
+    profile_args=(--spring.profiles.active="$mode")
+  fi
+
+  java -jar "$JAR" "${profile_args[@]}" --server.port="$PORT" \
+    --spring.jpa.show-sql=false \
+    --logging.level.root=WARN \
+    --logging.level.com.example.inventoryapi=WARN \
+    --logging.level.org.hibernate.SQL=WARN \
+    --logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN \
+    --logging.level.org.springframework.security=WARN \
+    > "target/load-$mode.log" 2>&1 &
+  app_pid=$!
+  trap 'kill $app_pid 2>/dev/null || true' EXIT
+
+  until curl -sf -o /dev/null -X POST "http://localhost:$PORT/api/auth/login" \
+      -H 'Content-Type: application/json' -d '{"username":"admin","password":"password"}'; do
+    kill -0 $app_pid 2>/dev/null || { echo "La aplicación no arrancó, ver target/load-$mode.log"; exit 1; }
+    sleep 1
+  done
+
+  java -cp "$CLASSPATH" com.example.inventoryapi.benchmark.ProductsLoadTest \
+    --base-url "http://localhost:$PORT/api" --concurrency "$CONCURRENCY" \
+    --warmup "$WARMUP" --duration "$DURATION" --label "$mode" --output "target/load-$mode.json"
+
+  kill $app_pid
+  wait $app_pid 2>/dev/null || true
+  trap - EXIT
+done
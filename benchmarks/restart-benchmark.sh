@@ -0,0 +1,73 @@
+#!/usr/bin/env bash
+#
+# Benchmark de reinicio en caliente con el perfil persistente (H2 en fichero)
+#
+# Crea (una sola vez) una base de datos en fichero con ROWS productos y mide,
+# en varios reinicios, el tiempo desde que se lanza la JVM hasta que la
+# aplicación responde como lista (/actuator/health/readiness). El resultado se
+# guarda en target/restart-result.json.
+#
+# Uso: ROWS=1000000 RESTARTS=3 PORT=8080 [DATA_DIR=/ruta/absoluta] ./restart-benchmark.sh
+
+set -euo pipefail
+cd "$(dirname "$0")"
+
+ROWS=${ROWS:-1000000}
+RESTARTS=${RESTARTS:-3}
+PORT=${PORT:-8080}
+DATA_DIR=${DATA_DIR:-$PWD/target/restart-data-$ROWS}
+JAVA_OPTS=${JAVA_OPTS:-}
+
+JAR=../target/inventory-api-1.0.0-exec.jar
+if [ ! -f "$JAR" ]; then
+  (cd .. && mvn -B -q package -DskipTests)
+fi
+mvn -B -q compile dependency:build-classpath -Dmdep.outputFile=target/classpath.txt
+CLASSPATH="target/classes:$(cat target/classpath.txt)"
+
+app_args=(--spring.profiles.active=persistent --server.port="$PORT"
+  --spring.jpa.show-sql=false
+  --logging.level.com.example.inventoryapi=INFO
+  --logging.level.org.hibernate.SQL=WARN
+  --logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN
+  --logging.level.org.springframework.security=WARN)
+
+# Arranca la aplicación y deja en ready_ms los milisegundos hasta que está lista
+start_app() {
+  local log=$1
+  local started
+  started=$(date +%s%N)
+  INVENTORY_DATA_DIR="$DATA_DIR" java $JAVA_OPTS -jar "$JAR" "${app_args[@]}" > "$log" 2>&1 &
+  app_pid=$!
+  until curl -sf -o /dev/null "http://localhost:$PORT/api/actuator/health/readiness"; do
+    kill -0 $app_pid 2>/dev/null || { echo "La aplicación no arrancó, ver $log" >&2; exit 1; }
+    sleep 0.1
+  done
+  ready_ms=$(( ($(date +%s%N) - started) / 1000000 ))
+}
+
+stop_app() {
+  kill $app_pid
+  wait $app_pid 2>/dev/null || true
+}
+
+trap 'kill ${app_pid:-} 2>/dev/null || true' EXIT
+
+if [ ! -f "$DATA_DIR/inventory.mv.db" ]; then
+  echo "Creando base de datos con $ROWS productos en $DATA_DIR"
+  mkdir -p "$DATA_DIR"
+  start_app target/restart-migrate.log
+  stop_app
+  java -cp "$CLASSPATH" com.example.inventoryapi.benchmark.ProductSeeder \
+    "jdbc:h2:file:$DATA_DIR/inventory" "$ROWS"
+fi
+
+times=()
+for i in $(seq 1 "$RESTARTS"); do
+  start_app "target/restart-$i.log"
+  stop_app
+  echo "Reinicio $i: lista en $ready_ms ms"
+  times+=("$ready_ms")
+done
+
+printf '{"rows": %d, "restarts": [%s]}\n' "$ROWS" "$(IFS=,; echo "${times[*]}")" | tee target/restart-result.json
@@ -0,0 +1,68 @@
+package com.example.inventoryapi.benchmark;
+
+import com.example.inventoryapi.dto.ProductResponseDto;
+import com.example.inventoryapi.model.Product;
+import com.example.inventoryapi.service.ProductServiceImpl;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Datos sintéticos compartidos por los benchmarks
+ *
+ * Genera productos deterministas para que los resultados sean comparables
+ * entre ejecuciones y entre commits.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+final class BenchmarkData {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Crea un producto con ID, nombre, precio y cantidad derivados del índice
+     *
+     * @param index índice del producto (desde 1)
+     * @return entidad Product
+     */
+    static Product product(long index) {
+        Product product = new Product(
+                "Producto " + index,
+                "Descripción del producto de prueba número " + index,
+                price(index),
+                quantity(index));
+        product.setId(index);
+        product.setCreatedAt(CREATED_AT);
+        product.setUpdatedAt(CREATED_AT);
+        product.setVersion(0L);
+        return product;
+    }
+
+    /**
+     * Crea una lista de DTOs de respuesta como los que serializa el controlador
+     *
+     * @param size número de productos
+     * @return lista de ProductResponseDto
+     */
+    static List<ProductResponseDto> responseDtos(int size) {
+        List<ProductResponseDto> dtos = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) {
+            dtos.add(ProductServiceImpl.convertToResponseDto(product(i)));
+        }
+        return dtos;
+    }
+
+    static BigDecimal price(long index) {
+        return BigDecimal.valueOf(index % 1000 * 100 + 99, 2);
+    }
+
+    static int quantity(long index) {
+        return (int) (index % 100);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.example.inventoryapi.benchmark;
+
+import com.example.inventoryapi.security.JwtTokenUtil;
+import com.example.inventoryapi.security.VerifiedToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark del análisis y la validación de tokens JWT
+ *
+ * Reproduce el trabajo que JwtAuthenticationFilter hace en cada petición
+ * autenticada: extraer el usuario del token y validarlo.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenBenchmark {
+
+    private static final String USERNAME = "admin";
+
+    private static final List<GrantedAuthority> AUTHORITIES = List.of(
+            new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER"));
+
+    private AnnotationConfigApplicationContext context;
+
+    private JwtTokenUtil jwtTokenUtil;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        // Crear JwtTokenUtil como lo hace Spring, con la misma configuración que application.yml
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("benchmark", Map.of(
+                "jwt.secret", "mySecretKey12345678901234567890123456789012345678901234567890",
+                "jwt.expiration", "86400000")));
+        context.register(JwtTokenUtil.class);
+        context.refresh();
+
+        jwtTokenUtil = context.getBean(JwtTokenUtil.class);
+        token = jwtTokenUtil.generateToken(USERNAME, AUTHORITIES);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtTokenUtil.generateToken(USERNAME, AUTHORITIES);
+    }
+
+    /**
+     * Ruta del filtro: verificación en una sola pasada, servida desde la caché de tokens verificados
+     */
+    @Benchmark
+    public Optional<VerifiedToken> verifyToken() {
+        return jwtTokenUtil.verifyToken(token);
+    }
+
+    @Benchmark
+    public String getUsernameFromToken() {
+        return jwtTokenUtil.getUsernameFromToken(token);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtTokenUtil.validateToken(token);
+    }
+
+    /**
+     * Ruta de AuthController: extraer el usuario y validar el token contra él
+     */
+    @Benchmark
+    public Boolean authenticateRequest() {
+        String username = jwtTokenUtil.getUsernameFromToken(token);
+        return jwtTokenUtil.validateToken(token, username);
+    }
+}
\ No newline at end of file
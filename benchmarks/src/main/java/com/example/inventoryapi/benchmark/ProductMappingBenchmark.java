@@ -0,0 +1,56 @@
+package com.example.inventoryapi.benchmark;
+
+import com.example.inventoryapi.dto.ProductResponseDto;
+import com.example.inventoryapi.model.Product;
+import com.example.inventoryapi.service.ProductServiceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la conversión de entidades Product a ProductResponseDto
+ *
+ * Mide ProductServiceImpl.convertToResponseDto, que se ejecuta una vez por
+ * producto en todas las lecturas y en cada evento de cambio.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ProductMappingBenchmark {
+
+    private static final int PRODUCTS = 1024;
+
+    private Product[] products;
+
+    private int next;
+
+    @Setup
+    public void setUp() {
+        products = new Product[PRODUCTS];
+        for (int i = 0; i < PRODUCTS; i++) {
+            products[i] = BenchmarkData.product(i + 1);
+        }
+    }
+
+    @Benchmark
+    public ProductResponseDto convertToResponseDto() {
+        // Rotar entre varios productos para no medir siempre la misma línea de caché
+        Product product = products[next++ & (PRODUCTS - 1)];
+        return ProductServiceImpl.convertToResponseDto(product);
+    }
+}
\ No newline at end of file
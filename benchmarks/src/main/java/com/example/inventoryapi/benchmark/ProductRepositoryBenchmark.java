@@ -0,0 +1,168 @@
+package com.example.inventoryapi.benchmark;
+
+import com.example.inventoryapi.dto.ProductResponseDto;
+import com.example.inventoryapi.model.Product;
+import com.example.inventoryapi.repository.ProductRepository;
+import com.example.inventoryapi.service.ProductServiceImpl;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de las consultas de ProductRepository sobre H2 con datos sembrados
+ *
+ * Arranca solo la capa JPA (datasource, Flyway y repositorios), aplica las
+ * migraciones del esquema y siembra el número de productos indicado.
+ *
+ * Los benchmarks listInStock* comparan, dentro de una transacción de solo
+ * lectura como la del servicio, cargar entidades y copiarlas a DTO frente a
+ * la proyección directa a DTO; con -prof gc se compara la memoria asignada
+ * por operación (gc.alloc.rate.norm).
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductRepositoryBenchmark {
+
+    /**
+     * Contexto mínimo con la capa de persistencia de la aplicación
+     */
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Product.class)
+    @EnableJpaRepositories(basePackageClasses = ProductRepository.class)
+    static class PersistenceContext {
+    }
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    @Param({"10000", "100000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private ProductRepository productRepository;
+
+    private EntityManager entityManager;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(PersistenceContext.class)
+                .web(WebApplicationType.NONE)
+                // Como argumentos para que prevalezcan sobre el application.yml de la aplicación
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.flyway.locations=classpath:db/migration",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.hibernate.SQL=WARN",
+                        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN");
+        productRepository = context.getBean(ProductRepository.class);
+        entityManager = SharedEntityManagerCreator.createSharedEntityManager(
+                context.getBean(EntityManagerFactory.class));
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (long i = 1; i <= rows; i++) {
+            batch.add(new Object[] {i, "Producto " + i, "Descripción del producto de prueba número " + i,
+                    BenchmarkData.price(i), BenchmarkData.quantity(i), now, now});
+            if (batch.size() == SEED_BATCH_SIZE || i == rows) {
+                jdbcTemplate.batchUpdate("INSERT INTO products (id, name, description, price, quantity, "
+                        + "created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, 0)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @Benchmark
+    public Optional<Product> findByNameIgnoreCase() {
+        return productRepository.findByNameIgnoreCase("PRODUCTO " + (rows / 2));
+    }
+
+    @Benchmark
+    public List<ProductResponseDto> findByPriceBetween() {
+        return productRepository.findDtosByPriceBetween(new BigDecimal("100.00"), new BigDecimal("100.99"));
+    }
+
+    @Benchmark
+    public List<ProductResponseDto> findByQuantityLessThanEqual() {
+        return productRepository.findDtosByQuantityLessThanEqual(0);
+    }
+
+    @Benchmark
+    public List<ProductResponseDto> findPage() {
+        return productRepository.findDtosByIdGreaterThan((long) rows / 2, PageRequest.of(0, 100));
+    }
+
+    @Benchmark
+    public List<ProductResponseDto> listInStockEntities() {
+        return readOnlyTransaction.execute(status -> entityManager
+                .createQuery("SELECT p FROM Product p WHERE p.quantity > 0", Product.class)
+                .getResultList().stream()
+                .map(ProductServiceImpl::convertToResponseDto)
+                .toList());
+    }
+
+    @Benchmark
+    public List<ProductResponseDto> listInStockProjection() {
+        return readOnlyTransaction.execute(status -> productRepository.findDtosInStock());
+    }
+
+    @Benchmark
+    public long countProductsInStock() {
+        return productRepository.countProductsInStock();
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotalInventoryValue() {
+        return productRepository.calculateTotalInventoryValue();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package com.example.inventoryapi.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Siembra productos sintéticos en una base de datos ya migrada
+ *
+ * Inserta por lotes JDBC a continuación del mayor ID existente y ajusta la
+ * secuencia de IDs, de modo que la aplicación pueda seguir creando productos.
+ * Se usa desde restart-benchmark.sh con la aplicación detenida.
+ *
+ * Uso: ProductSeeder &lt;jdbc-url&gt; &lt;productos&gt; [usuario] [contraseña]
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+public final class ProductSeeder {
+
+    private static final int BATCH_SIZE = 5_000;
+
+    private ProductSeeder() {
+    }
+
+    public static void main(String[] args) throws SQLException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Uso: ProductSeeder <jdbc-url> <productos> [usuario] [contraseña]");
+        }
+        String url = args[0];
+        long rows = Long.parseLong(args[1]);
+        String username = args.length > 2 ? args[2] : "sa";
+        String password = args.length > 3 ? args[3] : "password";
+
+        long start = System.nanoTime();
+        try (Connection connection = DriverManager.getConnection(url, username, password)) {
+            connection.setAutoCommit(false);
+            long firstId = maxId(connection) + 1;
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+            try (PreparedStatement insert = connection.prepareStatement(
+                    "INSERT INTO products (id, name, description, price, quantity, created_at, updated_at, version) "
+                            + "VALUES (?, ?, ?, ?, ?, ?, ?, 0)")) {
+                for (long i = 0; i < rows; i++) {
+                    long id = firstId + i;
+                    insert.setLong(1, id);
+                    insert.setString(2, "Producto " + id);
+                    insert.setString(3, "Descripción del producto de prueba número " + id);
+                    insert.setBigDecimal(4, BenchmarkData.price(id));
+                    insert.setInt(5, BenchmarkData.quantity(id));
+                    insert.setTimestamp(6, now);
+                    insert.setTimestamp(7, now);
+                    insert.addBatch();
+                    if ((i + 1) % BATCH_SIZE == 0 || i == rows - 1) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+            }
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ALTER SEQUENCE products_seq RESTART WITH " + (firstId + rows));
+            }
+            connection.commit();
+        }
+        System.out.printf("%d productos sembrados en %d ms%n", rows, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static long maxId(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM products")) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,107 @@
+package com.example.inventoryapi.benchmark;
+
+import com.example.inventoryapi.dto.ProductResponseDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Benchmark de la serialización de listas de productos
+ *
+ * Serializa List&lt;ProductResponseDto&gt; en JSON, CBOR o Smile con un
+ * ObjectMapper configurado como el de Spring Boot, opcionalmente comprimido
+ * con gzip, descartando la salida para medir solo la codificación. El tamaño
+ * de la respuesta de cada combinación se imprime al preparar el benchmark.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ProductSerializationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int size;
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    @Param({"none", "gzip"})
+    private String compression;
+
+    private ObjectWriter writer;
+
+    private List<ProductResponseDto> products;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile();
+            default -> Jackson2ObjectMapperBuilder.json();
+        };
+        ObjectMapper objectMapper = builder.build();
+        writer = objectMapper.writerFor(objectMapper.getTypeFactory()
+                .constructCollectionType(List.class, ProductResponseDto.class));
+        products = BenchmarkData.responseDtos(size);
+
+        CountingOutputStream counter = new CountingOutputStream();
+        serialize(counter);
+        System.out.printf("%n%s/%s, %d productos: %d bytes%n", format, compression, size, counter.count);
+    }
+
+    @Benchmark
+    public void serializeList() throws IOException {
+        serialize(OutputStream.nullOutputStream());
+    }
+
+    private void serialize(OutputStream target) throws IOException {
+        if ("gzip".equals(compression)) {
+            try (GZIPOutputStream out = new GZIPOutputStream(target, 8192)) {
+                writer.writeValue(out, products);
+            }
+        } else {
+            writer.writeValue(target, products);
+        }
+    }
+
+    /**
+     * Stream que solo cuenta los bytes escritos
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,220 @@
+package com.example.inventoryapi.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Prueba de carga de los endpoints /products contra una instancia en ejecución
+ *
+ * Mantiene un número fijo de peticiones en vuelo (una conexión por petición
+ * concurrente) durante el tiempo indicado y mide el throughput y la latencia
+ * (p50, p99, máxima). Se usa desde load-test.sh para comparar el modo de hilos
+ * de plataforma con el de hilos virtuales; el resultado se guarda en JSON.
+ *
+ * Opciones: --base-url, --concurrency, --warmup (s), --duration (s), --label, --output
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+public final class ProductsLoadTest {
+
+    /**
+     * Resolución del histograma de latencias
+     */
+    private static final long BUCKET_MICROS = 100;
+
+    /**
+     * Latencias por encima de este límite se acumulan en el último cubo
+     */
+    private static final int BUCKETS = 300_000;
+
+    private static final List<String> PATHS = List.of(
+            "/products?limit=20",
+            "/products/%d",
+            "/products/search?name=lap",
+            "/products/low-stock?threshold=20",
+            "/products/stats");
+
+    private final HttpClient client;
+
+    private final String baseUrl;
+
+    private final String authorization;
+
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    private final AtomicLong completed = new AtomicLong();
+
+    private final AtomicLong errors = new AtomicLong();
+
+    private volatile boolean recording;
+
+    private volatile long deadline;
+
+    private ProductsLoadTest(HttpClient client, String baseUrl, String token) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.authorization = "Bearer " + token;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080/api");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "5000"));
+        int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "10"));
+        int durationSeconds = Integer.parseInt(options.getOrDefault("duration", "60"));
+        String label = options.getOrDefault("label", "default");
+        String output = options.getOrDefault("output", "target/load-" + label + ".json");
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        ProductsLoadTest test = new ProductsLoadTest(client, baseUrl, login(client, baseUrl));
+
+        System.out.printf("[%s] %d conexiones concurrentes, calentamiento %ds, medición %ds%n",
+                label, concurrency, warmupSeconds, durationSeconds);
+        test.run(concurrency, warmupSeconds, false);
+        Map<String, Object> result = test.run(concurrency, durationSeconds, true);
+        result.put("label", label);
+        result.put("concurrency", concurrency);
+
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        File file = new File(output);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        objectMapper.writeValue(file, result);
+        System.out.println(objectMapper.writeValueAsString(result));
+    }
+
+    /**
+     * Ejecuta una fase de carga con el número de peticiones en vuelo indicado
+     *
+     * @param concurrency peticiones simultáneas
+     * @param seconds duración de la fase
+     * @param record si se registran las latencias
+     * @return métricas de la fase (vacío si no se registra)
+     */
+    private Map<String, Object> run(int concurrency, int seconds, boolean record) throws InterruptedException {
+        recording = record;
+        completed.set(0);
+        errors.set(0);
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram.set(i, 0);
+        }
+
+        long start = System.nanoTime();
+        deadline = start + Duration.ofSeconds(seconds).toNanos();
+        CountDownLatch finished = new CountDownLatch(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            sendNext(finished);
+        }
+        finished.await();
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (record) {
+            long requests = completed.get();
+            result.put("requests", requests);
+            result.put("errors", errors.get());
+            result.put("durationSeconds", round(elapsedSeconds));
+            result.put("throughputRps", round(requests / elapsedSeconds));
+            result.put("p50Ms", percentileMillis(0.50, requests));
+            result.put("p99Ms", percentileMillis(0.99, requests));
+            result.put("maxMs", percentileMillis(1.0, requests));
+        }
+        return result;
+    }
+
+    /**
+     * Envía una petición y, al completarse, la siguiente hasta alcanzar el plazo
+     */
+    private void sendNext(CountDownLatch finished) {
+        if (System.nanoTime() >= deadline) {
+            finished.countDown();
+            return;
+        }
+
+        long sentAt = System.nanoTime();
+        client.sendAsync(nextRequest(), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    if (recording) {
+                        completed.incrementAndGet();
+                        if (error != null || response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                        long micros = (System.nanoTime() - sentAt) / 1_000;
+                        histogram.incrementAndGet((int) Math.min(micros / BUCKET_MICROS, BUCKETS - 1));
+                    }
+                    sendNext(finished);
+                });
+    }
+
+    private HttpRequest nextRequest() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String path = String.format(PATHS.get(random.nextInt(PATHS.size())), random.nextInt(1, 16));
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", authorization)
+                .timeout(Duration.ofSeconds(60))
+                .GET()
+                .build();
+    }
+
+    private double percentileMillis(double percentile, long total) {
+        if (total == 0) {
+            return 0;
+        }
+        long target = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += histogram.get(i);
+            if (seen >= target) {
+                return round((i + 1) * BUCKET_MICROS / 1000.0);
+            }
+        }
+        return round(BUCKETS * BUCKET_MICROS / 1000.0);
+    }
+
+    private static String login(HttpClient client, String baseUrl) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"admin\",\"password\":\"password\"}"))
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login fallido: HTTP " + response.statusCode());
+        }
+        return new ObjectMapper().readTree(response.body()).get("token").asText();
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Opción no reconocida: " + args[i]);
+            }
+            options.put(args[i].substring(2), args[i + 1]);
+        }
+        return options;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.example.inventoryapi.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Configuración de los formatos binarios de respuesta
+ *
+ * Además de JSON, la API puede responder en CBOR (application/cbor) o Smile
+ * (application/x-jackson-smile) cuando el cliente los pide en la cabecera
+ * Accept. Los conversores usan la misma configuración de Jackson que JSON,
+ * de modo que los tres formatos representan los mismos campos y valores.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@Configuration
+public class BinaryFormatsConfig {
+
+    /**
+     * Conversor CBOR con la configuración de Jackson de la aplicación
+     *
+     * @param builder builder de ObjectMapper configurado por Spring Boot
+     * @return conversor de mensajes CBOR
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /**
+     * Conversor Smile con la configuración de Jackson de la aplicación
+     *
+     * @param builder builder de ObjectMapper configurado por Spring Boot
+     * @return conversor de mensajes Smile
+     */
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
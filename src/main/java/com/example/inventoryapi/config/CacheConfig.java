@@ -0,0 +1,65 @@
+package com.example.inventoryapi.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuración de la caché en memoria
+ *
+ * Esta clase configura una caché acotada de productos basada en Caffeine,
+ * con expulsión por tamaño y por tiempo, y estadísticas de aciertos y fallos.
+ * La caché puede deshabilitarse desde application.yml.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Nombre de la caché de productos por ID
+     */
+    public static final String PRODUCTS_CACHE = "products";
+
+    @Value("${inventory.cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${inventory.cache.products.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${inventory.cache.products.expire-after-write:10m}")
+    private Duration expireAfterWrite;
+
+    /**
+     * Configura el manager de caché
+     *
+     * Las invalidaciones se aplican tras el commit de la transacción para que
+     * una lectura concurrente no vuelva a cachear datos aún no confirmados.
+     *
+     * @return manager de caché Caffeine, o uno sin operación si la caché está deshabilitada
+     */
+    @Bean
+    public CacheManager cacheManager() {
+        if (!cacheEnabled) {
+            return new NoOpCacheManager();
+        }
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(PRODUCTS_CACHE);
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
\ No newline at end of file
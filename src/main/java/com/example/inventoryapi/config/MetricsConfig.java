@@ -0,0 +1,31 @@
+package com.example.inventoryapi.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de las métricas de Micrometer
+ *
+ * Los endpoints REST se miden con http.server.requests y las consultas del
+ * repositorio con spring.data.repository.invocations (ambas de Spring Boot);
+ * esta clase habilita @Timed para medir los métodos de los servicios.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Aspecto que registra un Timer por cada método anotado con @Timed
+     *
+     * @param meterRegistry registro de métricas
+     * @return aspecto de Micrometer
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
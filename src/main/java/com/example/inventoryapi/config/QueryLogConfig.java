@@ -0,0 +1,44 @@
+package com.example.inventoryapi.config;
+
+import com.example.inventoryapi.logging.QueryLog;
+import com.example.inventoryapi.logging.QueryLoggingDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuración del registro de consultas SQL
+ *
+ * Sustituye a show-sql y a los niveles DEBUG/TRACE de Hibernate: el DataSource
+ * se decora para medir cada sentencia y enviarla, muestreada, a {@link QueryLog}.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@Configuration
+public class QueryLogConfig {
+
+    /**
+     * Decora el DataSource de la aplicación con la medición de consultas
+     *
+     * Es estático para registrarse antes de que se cree el DataSource.
+     *
+     * @param queryLog registro de consultas
+     * @return post-procesador que envuelve los DataSource
+     */
+    @Bean
+    public static BeanPostProcessor queryLoggingDataSourcePostProcessor(ObjectProvider<QueryLog> queryLog) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof QueryLoggingDataSource)) {
+                    return new QueryLoggingDataSource(dataSource, queryLog.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
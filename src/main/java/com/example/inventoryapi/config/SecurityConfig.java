@@ -3,6 +3,7 @@ package com.example.inventoryapi.config;
 import com.example.inventoryapi.security.CustomUserDetailsService;
 import com.example.inventoryapi.security.JwtAuthenticationEntryPoint;
 import com.example.inventoryapi.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -45,10 +46,13 @@ public class SecurityConfig {
     /**
      * Configura el encoder de contraseñas
      * 
+     * Es estático para que CustomUserDetailsService pueda obtenerlo sin
+     * depender de esta configuración, que a su vez depende de él.
+     * 
      * @return encoder BCrypt
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
+    public static PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
     }
     
@@ -88,6 +92,8 @@ public class SecurityConfig {
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http.csrf(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(authz -> authz
+                // Permitir el despacho asíncrono de respuestas en streaming ya autorizadas
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 // Permitir acceso público a endpoints de autenticación
                 .requestMatchers("/auth/**").permitAll()
                 // Permitir acceso a Swagger UI y documentación
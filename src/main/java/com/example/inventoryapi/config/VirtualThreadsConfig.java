@@ -0,0 +1,42 @@
+package com.example.inventoryapi.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Comprobación del modo de hilos virtuales
+ *
+ * Spring Boot solo activa los hilos virtuales (spring.threads.virtual.enabled)
+ * si la JVM es Java 21 o superior; en versiones anteriores la propiedad se
+ * ignora sin avisar y la aplicación sigue usando hilos de plataforma. Esta
+ * configuración avisa de ese caso al arrancar.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+
+    private static final int VIRTUAL_THREADS_MIN_JAVA_VERSION = 21;
+
+    /**
+     * Informa al arrancar de si las peticiones se atienden con hilos virtuales
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadingMode() {
+        int javaVersion = Runtime.version().feature();
+        if (javaVersion < VIRTUAL_THREADS_MIN_JAVA_VERSION) {
+            logger.warn("Hilos virtuales solicitados pero la JVM es Java {}; se requiere Java {} o superior. "
+                    + "Las peticiones se atienden con hilos de plataforma", javaVersion, VIRTUAL_THREADS_MIN_JAVA_VERSION);
+        } else {
+            logger.info("Peticiones y tareas asíncronas atendidas con hilos virtuales (Java {})", javaVersion);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,156 @@
+package com.example.inventoryapi.controller;
+
+import com.example.inventoryapi.dto.QueryLogSettingsDto;
+import com.example.inventoryapi.logging.QueryLog;
+import com.example.inventoryapi.service.InventoryStatsAggregate;
+import com.example.inventoryapi.web.ProductListResponseCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Controlador REST para operaciones de administración
+ *
+ * Este controlador expone endpoints de diagnóstico y mantenimiento
+ * reservados para usuarios con rol ADMIN.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/admin")
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Administración", description = "API para diagnóstico y mantenimiento del inventario")
+@SecurityRequirement(name = "Bearer Authentication")
+public class AdminController {
+
+    private final CacheManager cacheManager;
+
+    private final InventoryStatsAggregate statsAggregate;
+
+    private final QueryLog queryLog;
+
+    private final ProductListResponseCache listResponseCache;
+
+    @Autowired
+    public AdminController(CacheManager cacheManager, InventoryStatsAggregate statsAggregate, QueryLog queryLog,
+                           ProductListResponseCache listResponseCache) {
+        this.cacheManager = cacheManager;
+        this.statsAggregate = statsAggregate;
+        this.queryLog = queryLog;
+        this.listResponseCache = listResponseCache;
+    }
+
+    /**
+     * Obtiene las estadísticas de las cachés
+     */
+    @GetMapping("/cache")
+    @Operation(summary = "Obtener estadísticas de caché", description = "Recupera los contadores de aciertos, fallos y expulsiones de cada caché")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas exitosamente"),
+        @ApiResponse(responseCode = "401", description = "No autorizado - Token JWT requerido"),
+        @ApiResponse(responseCode = "403", description = "Acceso denegado - Rol ADMIN requerido")
+    })
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+
+        for (String cacheName : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+                CacheStats cacheStats = nativeCache.stats();
+                stats.put(cacheName, Map.of(
+                    "size", nativeCache.estimatedSize(),
+                    "hits", cacheStats.hitCount(),
+                    "misses", cacheStats.missCount(),
+                    "evictions", cacheStats.evictionCount(),
+                    "hitRate", cacheStats.hitRate()
+                ));
+            }
+        }
+
+        return ResponseEntity.ok(Map.of("enabled", !stats.isEmpty(), "caches", stats));
+    }
+
+    /**
+     * Vacía todas las cachés
+     */
+    @DeleteMapping("/cache")
+    @Operation(summary = "Vaciar cachés", description = "Elimina todas las entradas de todas las cachés, incluidas las respuestas serializadas de los listados")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Cachés vaciadas exitosamente"),
+        @ApiResponse(responseCode = "401", description = "No autorizado - Token JWT requerido"),
+        @ApiResponse(responseCode = "403", description = "Acceso denegado - Rol ADMIN requerido")
+    })
+    public ResponseEntity<Void> clearCaches() {
+        for (String cacheName : cacheManager.getCacheNames()) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+        listResponseCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Recalcula las estadísticas del inventario desde la tabla
+     */
+    @PostMapping("/stats/recompute")
+    @Operation(summary = "Recalcular estadísticas", description = "Recalcula las estadísticas del inventario recorriendo la tabla y devuelve la desviación del agregado mantenido")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Estadísticas recalculadas exitosamente"),
+        @ApiResponse(responseCode = "401", description = "No autorizado - Token JWT requerido"),
+        @ApiResponse(responseCode = "403", description = "Acceso denegado - Rol ADMIN requerido")
+    })
+    public ResponseEntity<Map<String, Object>> recomputeStats() {
+        InventoryStatsAggregate.Snapshot drift = statsAggregate.recompute();
+        return ResponseEntity.ok(Map.of("stats", statsAggregate.getSnapshot(), "drift", drift));
+    }
+
+    /**
+     * Obtiene la configuración y los contadores del registro de consultas SQL
+     */
+    @GetMapping("/query-log")
+    @Operation(summary = "Obtener registro de consultas", description = "Recupera la configuración del registro de consultas SQL y el número de entradas escritas y descartadas")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Configuración obtenida exitosamente"),
+        @ApiResponse(responseCode = "401", description = "No autorizado - Token JWT requerido"),
+        @ApiResponse(responseCode = "403", description = "Acceso denegado - Rol ADMIN requerido")
+    })
+    public ResponseEntity<Map<String, Object>> getQueryLog() {
+        return ResponseEntity.ok(queryLog.getStatus());
+    }
+
+    /**
+     * Cambia en caliente la configuración del registro de consultas SQL
+     */
+    @PatchMapping("/query-log")
+    @Operation(summary = "Configurar registro de consultas", description = "Activa o desactiva el registro de consultas SQL y ajusta la tasa de muestreo y el umbral de consulta lenta sin reiniciar")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Configuración actualizada exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Configuración inválida"),
+        @ApiResponse(responseCode = "401", description = "No autorizado - Token JWT requerido"),
+        @ApiResponse(responseCode = "403", description = "Acceso denegado - Rol ADMIN requerido")
+    })
+    public ResponseEntity<Map<String, Object>> updateQueryLog(@Valid @RequestBody QueryLogSettingsDto settings) {
+        Duration slowThreshold = settings.getSlowThresholdMs() != null
+                ? Duration.ofMillis(settings.getSlowThresholdMs())
+                : null;
+        queryLog.update(settings.getEnabled(), settings.getSampleRate(), slowThreshold);
+        return ResponseEntity.ok(queryLog.getStatus());
+    }
+}
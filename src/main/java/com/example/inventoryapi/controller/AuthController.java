@@ -2,23 +2,33 @@ package com.example.inventoryapi.controller;
 
 import com.example.inventoryapi.dto.AuthRequestDto;
 import com.example.inventoryapi.dto.AuthResponseDto;
+import com.example.inventoryapi.metrics.ErrorMetrics;
+import com.example.inventoryapi.security.AuthenticationWorkPool;
 import com.example.inventoryapi.security.CustomUserDetailsService;
 import com.example.inventoryapi.security.JwtTokenUtil;
+import com.example.inventoryapi.security.LoginRateLimiter;
+import com.example.inventoryapi.security.VerifiedToken;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * Controlador para operaciones de autenticación
  * 
@@ -33,7 +43,10 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
     
     @Autowired
-    private AuthenticationManager authenticationManager;
+    private AuthenticationWorkPool authenticationWorkPool;
+    
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
     
     @Autowired
     private JwtTokenUtil jwtTokenUtil;
@@ -41,10 +54,17 @@ public class AuthController {
     @Autowired
     private CustomUserDetailsService userDetailsService;
     
+    @Autowired
+    private ErrorMetrics errorMetrics;
+    
     /**
      * Endpoint para autenticación de usuarios
      * 
+     * La verificación de la contraseña se ejecuta en el pool acotado de
+     * AuthenticationWorkPool, liberando el hilo de Tomcat mientras tanto.
+     * 
      * @param authRequest credenciales de usuario
+     * @param request petición HTTP, para identificar al cliente
      * @return token JWT si la autenticación es exitosa
      */
     @PostMapping("/login")
@@ -53,38 +73,58 @@ public class AuthController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Autenticación exitosa"),
         @ApiResponse(responseCode = "401", description = "Credenciales inválidas"),
-        @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos")
+        @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos"),
+        @ApiResponse(responseCode = "429", description = "Demasiados intentos de login desde este cliente"),
+        @ApiResponse(responseCode = "503", description = "Servicio de autenticación saturado")
     })
-    public ResponseEntity<?> login(@Valid @RequestBody AuthRequestDto authRequest) {
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody AuthRequestDto authRequest,
+                                                      HttpServletRequest request) {
+        
+        // Descartar los intentos que exceden el límite antes de calcular ningún hash
+        long retryAfter = loginRateLimiter.tryAcquire(request.getRemoteAddr());
+        if (retryAfter > 0) {
+            errorMetrics.increment(ErrorMetrics.AUTH, "rate_limited");
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                .body(new ErrorResponse("Demasiados intentos de login, reintente más tarde", "TOO_MANY_REQUESTS")));
+        }
         
         try {
-            // Intentar autenticar al usuario
-            Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                    authRequest.getUsername(), 
-                    authRequest.getPassword()
-                )
-            );
-            
-            // Si la autenticación es exitosa, generar el token JWT
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            String token = jwtTokenUtil.generateToken(userDetails.getUsername());
-            
-            AuthResponseDto response = new AuthResponseDto(
-                token,
-                userDetails.getUsername(),
-                jwtTokenUtil.getExpiration()
-            );
-            
-            return ResponseEntity.ok(response);
-            
-        } catch (BadCredentialsException e) {
+            return authenticationWorkPool.authenticate(
+                    new UsernamePasswordAuthenticationToken(authRequest.getUsername(), authRequest.getPassword()))
+                .handle((authentication, failure) -> failure == null
+                    ? loginSucceeded(authentication)
+                    : loginFailed(failure instanceof CompletionException ? failure.getCause() : failure));
+        } catch (RejectedExecutionException e) {
+            errorMetrics.increment(ErrorMetrics.AUTH, "hash_pool_full");
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse("Servicio de autenticación saturado, reintente más tarde", "AUTH_BUSY")));
+        }
+    }
+    
+    private ResponseEntity<?> loginSucceeded(Authentication authentication) {
+        // Si la autenticación es exitosa, generar el token JWT
+        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        String token = jwtTokenUtil.generateToken(userDetails.getUsername(), userDetails.getAuthorities());
+        
+        AuthResponseDto response = new AuthResponseDto(
+            token,
+            userDetails.getUsername(),
+            jwtTokenUtil.getExpiration()
+        );
+        
+        return ResponseEntity.ok(response);
+    }
+    
+    private ResponseEntity<?> loginFailed(Throwable failure) {
+        if (failure instanceof BadCredentialsException) {
+            errorMetrics.increment(ErrorMetrics.AUTH, "bad_credentials");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(new ErrorResponse("Credenciales inválidas", "INVALID_CREDENTIALS"));
-        } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(new ErrorResponse("Error interno del servidor", "INTERNAL_ERROR"));
         }
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+            .body(new ErrorResponse("Error interno del servidor", "INTERNAL_ERROR"));
     }
     
     /**
@@ -105,10 +145,10 @@ public class AuthController {
         try {
             // Extraer el token del header Authorization
             String jwtToken = token.substring(7); // Remover "Bearer "
-            String username = jwtTokenUtil.getUsernameFromToken(jwtToken);
+            Optional<VerifiedToken> verifiedToken = jwtTokenUtil.verifyToken(jwtToken);
             
-            if (jwtTokenUtil.validateToken(jwtToken, username)) {
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            if (verifiedToken.isPresent()) {
+                UserDetails userDetails = userDetailsService.loadUserByUsername(verifiedToken.get().username());
                 
                 return ResponseEntity.ok(new UserInfo(
                     userDetails.getUsername(),
@@ -117,11 +157,13 @@ public class AuthController {
                         .toList()
                 ));
             } else {
+                errorMetrics.increment(ErrorMetrics.AUTH, "invalid_token");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new ErrorResponse("Token inválido", "INVALID_TOKEN"));
             }
             
         } catch (Exception e) {
+            errorMetrics.increment(ErrorMetrics.AUTH, "invalid_token");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(new ErrorResponse("Token inválido", "INVALID_TOKEN"));
         }
@@ -144,10 +186,13 @@ public class AuthController {
         
         try {
             String jwtToken = token.substring(7); // Remover "Bearer "
-            String username = jwtTokenUtil.getUsernameFromToken(jwtToken);
+            Optional<VerifiedToken> verifiedToken = jwtTokenUtil.verifyToken(jwtToken);
             
-            if (jwtTokenUtil.validateToken(jwtToken, username)) {
-                String newToken = jwtTokenUtil.generateToken(username);
+            if (verifiedToken.isPresent()) {
+                // Emitir el nuevo token con los roles actuales del usuario
+                UserDetails userDetails = userDetailsService.loadUserByUsername(verifiedToken.get().username());
+                String username = userDetails.getUsername();
+                String newToken = jwtTokenUtil.generateToken(username, userDetails.getAuthorities());
                 
                 AuthResponseDto response = new AuthResponseDto(
                     newToken,
@@ -157,11 +202,13 @@ public class AuthController {
                 
                 return ResponseEntity.ok(response);
             } else {
+                errorMetrics.increment(ErrorMetrics.AUTH, "invalid_token");
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new ErrorResponse("Token inválido", "INVALID_TOKEN"));
             }
             
         } catch (Exception e) {
+            errorMetrics.increment(ErrorMetrics.AUTH, "invalid_token");
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(new ErrorResponse("Token inválido", "INVALID_TOKEN"));
         }
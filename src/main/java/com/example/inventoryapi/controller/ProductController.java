@@ -1,21 +1,51 @@
 package com.example.inventoryapi.controller;
 
+import com.example.inventoryapi.dto.BatchResultDto;
+import com.example.inventoryapi.dto.ProductChangeDto;
+import com.example.inventoryapi.dto.ProductChangesDto;
+import com.example.inventoryapi.dto.ProductDeltaDto;
+import com.example.inventoryapi.dto.ProductPageDto;
 import com.example.inventoryapi.dto.ProductRequestDto;
 import com.example.inventoryapi.dto.ProductResponseDto;
+import com.example.inventoryapi.dto.StockAdjustmentRequestDto;
+import com.example.inventoryapi.dto.StockAdjustmentResponseDto;
+import com.example.inventoryapi.exception.ChangeLogExpiredException;
+import com.example.inventoryapi.exception.ProductVersionMismatchException;
+import com.example.inventoryapi.service.InventoryStatsAggregate;
+import com.example.inventoryapi.service.ProductChangeLog;
 import com.example.inventoryapi.service.ProductService;
+import com.example.inventoryapi.web.ProductListResponseCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
@@ -34,26 +64,159 @@ import java.util.Map;
 @SecurityRequirement(name = "Bearer Authentication")
 public class ProductController {
     
+    private static final byte[] NDJSON_SEPARATOR = {'\n'};
+    
+    private static final Duration CHANGES_HEARTBEAT_INTERVAL = Duration.ofSeconds(15);
+    
+    private static final String CHANGES_EXPIRED_EVENT = "expired";
+    
+    private static final char ETAG_QUANTITY_SEPARATOR = '-';
+    
     private final ProductService productService;
     
+    private final ObjectWriter productWriter;
+    
+    private final ProductListResponseCache listResponseCache;
+    
+    private final ProductChangeLog changeLog;
+    
     @Autowired
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ObjectMapper objectMapper,
+                             ProductListResponseCache listResponseCache, ProductChangeLog changeLog) {
         this.productService = productService;
+        this.productWriter = objectMapper.writerFor(ProductResponseDto.class);
+        this.listResponseCache = listResponseCache;
+        this.changeLog = changeLog;
     }
     
     /**
-     * Obtiene todos los productos
+     * Obtiene los productos paginados por cursor
      */
     @GetMapping
-    @Operation(summary = "Obtener todos los productos", description = "Recupera una lista de todos los productos en el inventario")
+    @Operation(summary = "Obtener productos paginados", description = "Recupera una página de productos ordenados por ID usando paginación por cursor")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Lista de productos obtenida exitosamente"),
+        @ApiResponse(responseCode = "200", description = "Página de productos obtenida exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Parámetros de paginación inválidos"),
         @ApiResponse(responseCode = "401", description = "No autorizado - Token JWT requerido"),
         @ApiResponse(responseCode = "403", description = "Acceso denegado")
     })
-    public ResponseEntity<List<ProductResponseDto>> getAllProducts() {
-        List<ProductResponseDto> products = productService.getAllProducts();
-        return ResponseEntity.ok(products);
+    public ResponseEntity<ProductPageDto> getProducts(
+            @Parameter(description = "ID del último producto de la página anterior", example = "100")
+            @RequestParam(required = false) Long after,
+            @Parameter(description = "Número máximo de productos a devolver", example = "100")
+            @RequestParam(defaultValue = "100") Integer limit) {
+        ProductPageDto page = productService.getProductsPage(after, limit);
+        return ResponseEntity.ok().eTag(listETag(page.getContent())).body(page);
+    }
+    
+    /**
+     * Exporta todo el catálogo como NDJSON en streaming
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Exportar catálogo completo", description = "Transmite todos los productos como NDJSON (un objeto JSON por línea) sin cargarlos en memoria")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Catálogo transmitido exitosamente"),
+        @ApiResponse(responseCode = "401", description = "No autorizado - Token JWT requerido")
+    })
+    public ResponseEntity<StreamingResponseBody> streamAllProducts() {
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream, 64 * 1024);
+            productService.streamAllProducts(product -> {
+                try {
+                    out.write(productWriter.writeValueAsBytes(product));
+                    out.write(NDJSON_SEPARATOR);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.flush();
+        };
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+    
+    /**
+     * Obtiene los productos modificados y eliminados desde una fecha
+     */
+    @GetMapping("/modified-since")
+    @Operation(summary = "Obtener productos modificados desde una fecha", description = "Devuelve los productos creados o modificados y los IDs de los eliminados después del cursor (ts, afterId), ordenados por fecha e ID")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cambios obtenidos exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Fecha o límite inválidos"),
+        @ApiResponse(responseCode = "401", description = "No autorizado - Token JWT requerido")
+    })
+    public ResponseEntity<ProductDeltaDto> getProductsModifiedSince(
+            @Parameter(description = "Fecha del último cambio recibido (ISO-8601)", example = "2024-01-15T10:30:00")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime ts,
+            @Parameter(description = "ID del último cambio recibido en esa fecha ('nextAfterId' de la respuesta anterior)", example = "100")
+            @RequestParam(required = false) Long afterId,
+            @Parameter(description = "Número máximo de cambios a devolver", example = "100")
+            @RequestParam(defaultValue = "100") Integer limit) {
+        return ResponseEntity.ok(productService.getProductsModifiedSince(ts, afterId, limit));
+    }
+    
+    /**
+     * Obtiene los cambios de productos posteriores a una secuencia (long-poll)
+     */
+    @GetMapping(value = "/changes", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Obtener cambios de productos", description = "Devuelve las altas, modificaciones y borrados confirmados después de la secuencia indicada; si no hay ninguno, espera hasta 'wait' segundos a que llegue alguno")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cambios obtenidos exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Secuencia, límite o espera inválidos"),
+        @ApiResponse(responseCode = "401", description = "No autorizado - Token JWT requerido"),
+        @ApiResponse(responseCode = "410", description = "Los cambios solicitados ya no se conservan; se requiere sincronización completa")
+    })
+    public Mono<ProductChangesDto> getChanges(
+            @Parameter(description = "Última secuencia procesada; si se omite, se parte del último cambio registrado", example = "1760601234567001")
+            @RequestParam(required = false) Long since,
+            @Parameter(description = "Número máximo de cambios a devolver", example = "100")
+            @RequestParam(defaultValue = "100") Integer limit,
+            @Parameter(description = "Segundos a esperar si no hay cambios", example = "20")
+            @RequestParam(defaultValue = "0") Integer wait) {
+        long start = since != null ? since : changeLog.getLastSequence();
+        return changeLog.awaitChanges(start, limit, Duration.ofSeconds(wait));
+    }
+    
+    /**
+     * Emite los cambios de productos posteriores a una secuencia (Server-Sent Events)
+     */
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Transmitir cambios de productos", description = "Emite como Server-Sent Events los cambios posteriores a la secuencia indicada y los que se confirmen después; el ID de cada evento es su secuencia")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Cambios transmitidos exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Secuencia inválida"),
+        @ApiResponse(responseCode = "401", description = "No autorizado - Token JWT requerido"),
+        @ApiResponse(responseCode = "410", description = "Los cambios solicitados ya no se conservan; se requiere sincronización completa")
+    })
+    public ResponseEntity<Flux<ServerSentEvent<ProductChangeDto>>> streamChanges(
+            @Parameter(description = "Última secuencia procesada; si se omite, se parte del último cambio registrado", example = "1760601234567001")
+            @RequestParam(required = false) Long since,
+            @Parameter(description = "Secuencia del último evento recibido, enviada por EventSource al reconectar")
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        long start = since != null ? since : lastEventId != null ? lastEventId : changeLog.getLastSequence();
+        // El manejador global no puede escribir su ErrorResponse JSON en text/event-stream:
+        // un cursor inválido se responde aquí, sin cuerpo, antes de abrir el flujo
+        Flux<ProductChangeDto> stream;
+        try {
+            stream = changeLog.streamChanges(start);
+        } catch (ChangeLogExpiredException e) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        Flux<ServerSentEvent<ProductChangeDto>> changes = stream
+                .map(change -> ServerSentEvent.builder(change).id(String.valueOf(change.getSequence())).build())
+                // Si el consumidor se queda atrás, el flujo termina con un evento 'expired'
+                .onErrorResume(ChangeLogExpiredException.class,
+                        e -> Mono.just(ServerSentEvent.<ProductChangeDto>builder().event(CHANGES_EXPIRED_EVENT).comment(e.getMessage()).build()));
+        // Comentarios periódicos para que los proxies no cierren la conexión inactiva
+        Flux<ServerSentEvent<ProductChangeDto>> heartbeats = Flux.interval(CHANGES_HEARTBEAT_INTERVAL)
+                .map(tick -> ServerSentEvent.<ProductChangeDto>builder().comment("heartbeat").build());
+        return ResponseEntity.ok(Flux.merge(changes, heartbeats)
+                .takeUntil(event -> CHANGES_EXPIRED_EVENT.equals(event.event())));
     }
     
     /**
@@ -63,6 +226,7 @@ public class ProductController {
     @Operation(summary = "Obtener producto por ID", description = "Recupera un producto específico por su ID")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Producto encontrado exitosamente"),
+        @ApiResponse(responseCode = "304", description = "El producto no ha cambiado (If-None-Match)"),
         @ApiResponse(responseCode = "404", description = "Producto no encontrado"),
         @ApiResponse(responseCode = "401", description = "No autorizado - Token JWT requerido")
     })
@@ -70,7 +234,8 @@ public class ProductController {
             @Parameter(description = "ID del producto a obtener", example = "1")
             @PathVariable Long id) {
         ProductResponseDto product = productService.getProductById(id);
-        return ResponseEntity.ok(product);
+        // Spring responde 304 Not Modified si el ETag coincide con If-None-Match
+        return ResponseEntity.ok().eTag(productETag(product, productService.hasBufferedStock(id))).body(product);
     }
     
     /**
@@ -99,15 +264,21 @@ public class ProductController {
         @ApiResponse(responseCode = "200", description = "Producto actualizado exitosamente"),
         @ApiResponse(responseCode = "404", description = "Producto no encontrado"),
         @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos"),
+        @ApiResponse(responseCode = "409", description = "Modificación concurrente"),
+        @ApiResponse(responseCode = "412", description = "La versión no coincide con If-Match"),
         @ApiResponse(responseCode = "401", description = "No autorizado - Token JWT requerido")
     })
     public ResponseEntity<ProductResponseDto> updateProduct(
             @Parameter(description = "ID del producto a actualizar", example = "1")
             @PathVariable Long id,
             @Parameter(description = "Nuevos datos del producto")
-            @Valid @RequestBody ProductRequestDto productRequest) {
-        ProductResponseDto updatedProduct = productService.updateProduct(id, productRequest);
-        return ResponseEntity.ok(updatedProduct);
+            @Valid @RequestBody ProductRequestDto productRequest,
+            @Parameter(description = "ETag de la versión que se desea modificar")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        IfMatch expected = parseIfMatch(ifMatch);
+        ProductResponseDto updatedProduct = productService.updateProduct(
+                id, productRequest, expected.version(), expected.quantity());
+        return ResponseEntity.ok().eTag(productETag(updatedProduct, false)).body(updatedProduct);
     }
     
     /**
@@ -118,29 +289,93 @@ public class ProductController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "204", description = "Producto eliminado exitosamente"),
         @ApiResponse(responseCode = "404", description = "Producto no encontrado"),
+        @ApiResponse(responseCode = "412", description = "La versión no coincide con If-Match"),
         @ApiResponse(responseCode = "401", description = "No autorizado - Token JWT requerido")
     })
     public ResponseEntity<Void> deleteProduct(
             @Parameter(description = "ID del producto a eliminar", example = "1")
-            @PathVariable Long id) {
-        productService.deleteProduct(id);
+            @PathVariable Long id,
+            @Parameter(description = "ETag de la versión que se desea eliminar")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        IfMatch expected = parseIfMatch(ifMatch);
+        productService.deleteProduct(id, expected.version(), expected.quantity());
         return ResponseEntity.noContent().build();
     }
     
     /**
-     * Busca productos por nombre
+     * Ajusta el stock de un producto de forma atómica
+     */
+    @PostMapping("/{id}/stock/adjust")
+    @Operation(summary = "Ajustar stock", description = "Suma o resta una cantidad al stock de un producto de forma atómica, rechazando ajustes que lo dejen negativo o por encima del máximo")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Stock ajustado exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Delta inválido o stock resultante por encima del máximo"),
+        @ApiResponse(responseCode = "404", description = "Producto no encontrado"),
+        @ApiResponse(responseCode = "409", description = "Stock insuficiente"),
+        @ApiResponse(responseCode = "401", description = "No autorizado - Token JWT requerido")
+    })
+    public ResponseEntity<StockAdjustmentResponseDto> adjustStock(
+            @Parameter(description = "ID del producto", example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "Ajuste de stock a aplicar")
+            @Valid @RequestBody StockAdjustmentRequestDto adjustmentRequest) {
+        StockAdjustmentResponseDto result = productService.adjustStock(id, adjustmentRequest.getDelta());
+        return ResponseEntity.ok(result);
+    }
+    
+    /**
+     * Crea un lote de productos
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Crear productos por lotes", description = "Crea miles de productos en bloques transaccionales y devuelve el resultado de cada elemento")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote procesado; revisar el estado de cada elemento"),
+        @ApiResponse(responseCode = "400", description = "Lote vacío o demasiado grande"),
+        @ApiResponse(responseCode = "401", description = "No autorizado - Token JWT requerido")
+    })
+    public ResponseEntity<BatchResultDto> createProducts(
+            @Parameter(description = "Productos a crear")
+            @RequestBody List<ProductRequestDto> productRequests) {
+        BatchResultDto result = productService.createProducts(productRequests);
+        return ResponseEntity.ok(result);
+    }
+    
+    /**
+     * Crea o actualiza un lote de productos identificados por nombre
+     */
+    @PutMapping("/batch")
+    @Operation(summary = "Crear o actualizar productos por lotes", description = "Actualiza los productos existentes con el mismo nombre (insensible a mayúsculas) y crea los demás")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lote procesado; revisar el estado de cada elemento"),
+        @ApiResponse(responseCode = "400", description = "Lote vacío o demasiado grande"),
+        @ApiResponse(responseCode = "401", description = "No autorizado - Token JWT requerido")
+    })
+    public ResponseEntity<BatchResultDto> upsertProducts(
+            @Parameter(description = "Productos a crear o actualizar")
+            @RequestBody List<ProductRequestDto> productRequests) {
+        BatchResultDto result = productService.upsertProducts(productRequests);
+        return ResponseEntity.ok(result);
+    }
+    
+    /**
+     * Busca productos por nombre y descripción
      */
     @GetMapping("/search")
-    @Operation(summary = "Buscar productos por nombre", description = "Busca productos que contengan el texto especificado en el nombre")
+    @Operation(summary = "Buscar productos", description = "Busca productos cuyo nombre o descripción contengan palabras que empiecen por cada término, ordenados por relevancia")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Búsqueda completada exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Parámetros de paginación inválidos"),
         @ApiResponse(responseCode = "401", description = "No autorizado - Token JWT requerido")
     })
-    public ResponseEntity<List<ProductResponseDto>> searchProductsByName(
-            @Parameter(description = "Texto a buscar en el nombre del producto", example = "laptop")
-            @RequestParam String name) {
-        List<ProductResponseDto> products = productService.searchProductsByName(name);
-        return ResponseEntity.ok(products);
+    public ResponseEntity<List<ProductResponseDto>> searchProducts(
+            @Parameter(description = "Texto a buscar en el nombre o la descripción del producto", example = "laptop")
+            @RequestParam String name,
+            @Parameter(description = "Número de página (desde 0)", example = "0")
+            @RequestParam(defaultValue = "0") Integer page,
+            @Parameter(description = "Número máximo de resultados", example = "20")
+            @RequestParam(defaultValue = "20") Integer limit) {
+        List<ProductResponseDto> products = productService.searchProducts(name, page, limit);
+        return ResponseEntity.ok().eTag(listETag(products)).body(products);
     }
     
     /**
@@ -149,17 +384,22 @@ public class ProductController {
     @GetMapping("/price-range")
     @Operation(summary = "Obtener productos por rango de precios", description = "Recupera productos dentro de un rango de precios específico")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Productos obtenidos exitosamente"),
+        @ApiResponse(responseCode = "200", description = "Productos obtenidos exitosamente",
+                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                        array = @ArraySchema(schema = @Schema(implementation = ProductResponseDto.class)))),
         @ApiResponse(responseCode = "400", description = "Rango de precios inválido"),
         @ApiResponse(responseCode = "401", description = "No autorizado - Token JWT requerido")
     })
-    public ResponseEntity<List<ProductResponseDto>> getProductsByPriceRange(
+    public ResponseEntity<byte[]> getProductsByPriceRange(
             @Parameter(description = "Precio mínimo", example = "100.00")
             @RequestParam BigDecimal minPrice,
             @Parameter(description = "Precio máximo", example = "500.00")
-            @RequestParam BigDecimal maxPrice) {
-        List<ProductResponseDto> products = productService.getProductsByPriceRange(minPrice, maxPrice);
-        return ResponseEntity.ok(products);
+            @RequestParam BigDecimal maxPrice,
+            @Parameter(hidden = true) @RequestHeader HttpHeaders headers) {
+        String key = "price-range:" + minPrice.stripTrailingZeros().toPlainString()
+                + ":" + maxPrice.stripTrailingZeros().toPlainString();
+        return listResponseCache.get(key, headers,
+                () -> productService.getProductsByPriceRange(minPrice, maxPrice), ProductController::listETag);
     }
     
     /**
@@ -168,14 +408,17 @@ public class ProductController {
     @GetMapping("/low-stock")
     @Operation(summary = "Obtener productos con stock bajo", description = "Recupera productos con cantidad menor o igual al umbral especificado")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Productos con stock bajo obtenidos exitosamente"),
+        @ApiResponse(responseCode = "200", description = "Productos con stock bajo obtenidos exitosamente",
+                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                        array = @ArraySchema(schema = @Schema(implementation = ProductResponseDto.class)))),
         @ApiResponse(responseCode = "401", description = "No autorizado - Token JWT requerido")
     })
-    public ResponseEntity<List<ProductResponseDto>> getLowStockProducts(
+    public ResponseEntity<byte[]> getLowStockProducts(
             @Parameter(description = "Umbral de stock bajo", example = "10")
-            @RequestParam(defaultValue = "10") Integer threshold) {
-        List<ProductResponseDto> products = productService.getLowStockProducts(threshold);
-        return ResponseEntity.ok(products);
+            @RequestParam(defaultValue = "10") Integer threshold,
+            @Parameter(hidden = true) @RequestHeader HttpHeaders headers) {
+        return listResponseCache.get("low-stock:" + threshold, headers,
+                () -> productService.getLowStockProducts(threshold), ProductController::listETag);
     }
     
     /**
@@ -184,12 +427,15 @@ public class ProductController {
     @GetMapping("/in-stock")
     @Operation(summary = "Obtener productos en stock", description = "Recupera productos con cantidad disponible mayor a 0")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Productos en stock obtenidos exitosamente"),
+        @ApiResponse(responseCode = "200", description = "Productos en stock obtenidos exitosamente",
+                     content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                        array = @ArraySchema(schema = @Schema(implementation = ProductResponseDto.class)))),
         @ApiResponse(responseCode = "401", description = "No autorizado - Token JWT requerido")
     })
-    public ResponseEntity<List<ProductResponseDto>> getProductsInStock() {
-        List<ProductResponseDto> products = productService.getProductsInStock();
-        return ResponseEntity.ok(products);
+    public ResponseEntity<byte[]> getProductsInStock(
+            @Parameter(hidden = true) @RequestHeader HttpHeaders headers) {
+        return listResponseCache.get("in-stock", headers,
+                productService::getProductsInStock, ProductController::listETag);
     }
     
     /**
@@ -202,15 +448,85 @@ public class ProductController {
         @ApiResponse(responseCode = "401", description = "No autorizado - Token JWT requerido")
     })
     public ResponseEntity<Map<String, Object>> getInventoryStats() {
-        long totalProducts = productService.getTotalProductCount();
-        BigDecimal totalValue = productService.calculateTotalInventoryValue();
+        // Los tres valores proceden de la misma instantánea para que sean coherentes entre sí
+        InventoryStatsAggregate.Snapshot snapshot = productService.getInventoryStats();
+        long totalProducts = snapshot.totalProducts();
+        BigDecimal totalValue = snapshot.totalValue();
         
         Map<String, Object> stats = Map.of(
             "totalProducts", totalProducts,
+            "inStockProducts", snapshot.inStockProducts(),
             "totalInventoryValue", totalValue,
             "averageProductValue", totalProducts > 0 ? totalValue.divide(BigDecimal.valueOf(totalProducts), 2, BigDecimal.ROUND_HALF_UP) : BigDecimal.ZERO
         );
         
         return ResponseEntity.ok(stats);
     }
-}
\ No newline at end of file
+    
+    /**
+     * Calcula el ETag de un producto a partir de su versión
+     * 
+     * Con la escritura diferida de stock la cantidad cambia sin cambiar la
+     * versión hasta el siguiente volcado, por lo que se incluye en el ETag.
+     * 
+     * @param product producto
+     * @param bufferedStock si la cantidad procede de la escritura diferida
+     * @return ETag fuerte del producto
+     */
+    private static String productETag(ProductResponseDto product, boolean bufferedStock) {
+        if (bufferedStock) {
+            return "\"" + product.getVersion() + ETAG_QUANTITY_SEPARATOR + product.getQuantity() + "\"";
+        }
+        return "\"" + product.getVersion() + "\"";
+    }
+    
+    /**
+     * Calcula un ETag débil para una lista a partir de los IDs y versiones de sus productos
+     * 
+     * @param products productos de la lista
+     * @return ETag débil de la lista
+     */
+    private static String listETag(List<ProductResponseDto> products) {
+        long hash = 1125899906842597L;
+        for (ProductResponseDto product : products) {
+            hash = 31 * hash + product.getId();
+            hash = 31 * hash + product.getVersion();
+        }
+        return "W/\"" + products.size() + "-" + Long.toHexString(hash) + "\"";
+    }
+    
+    /**
+     * Obtiene la versión y, si el ETag la incluye, la cantidad esperadas a partir de la cabecera If-Match
+     * 
+     * @param ifMatch valor de la cabecera If-Match
+     * @return condición esperada; sin versión si la cabecera no se envió o es "*"
+     * @throws ProductVersionMismatchException si el ETag no corresponde a ninguna versión
+     */
+    private static IfMatch parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return new IfMatch(null, null);
+        }
+        
+        String etag = ifMatch.trim();
+        if (etag.startsWith("W/")) {
+            etag = etag.substring(2);
+        }
+        etag = etag.replace("\"", "");
+        try {
+            int separator = etag.indexOf(ETAG_QUANTITY_SEPARATOR, 1);
+            if (separator < 0) {
+                return new IfMatch(Long.parseLong(etag), null);
+            }
+            return new IfMatch(Long.parseLong(etag.substring(0, separator)),
+                    Integer.parseInt(etag.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            throw new ProductVersionMismatchException("ETag inválido en If-Match: " + ifMatch);
+        }
+    }
+    
+    /**
+     * Versión y cantidad esperadas según la cabecera If-Match
+     */
+    private record IfMatch(Long version, Integer quantity) {
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.inventoryapi.controller;
+
+import com.example.inventoryapi.dto.ProductResponseDto;
+import com.example.inventoryapi.service.ReactiveProductService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.function.Supplier;
+
+/**
+ * Controlador REST reactivo para la lectura de productos
+ * 
+ * Ofrece las mismas consultas que ProductController pero emite los productos
+ * en streaming (NDJSON o Server-Sent Events, según la cabecera Accept) a
+ * medida que se leen, respetando el ritmo al que el cliente los consume. La
+ * petición no ocupa un hilo del servidor mientras espera al cliente.
+ * 
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@RestController
+@RequestMapping("/reactive/products")
+@Tag(name = "Productos (reactivo)", description = "API de lectura de productos en streaming no bloqueante")
+@SecurityRequirement(name = "Bearer Authentication")
+public class ReactiveProductController {
+    
+    private final ReactiveProductService reactiveProductService;
+    
+    @Autowired
+    public ReactiveProductController(ReactiveProductService reactiveProductService) {
+        this.reactiveProductService = reactiveProductService;
+    }
+    
+    /**
+     * Emite todo el catálogo en orden de ID
+     */
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(summary = "Transmitir productos", description = "Emite todos los productos ordenados por ID, opcionalmente a partir de un cursor")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Productos transmitidos exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Cursor inválido"),
+        @ApiResponse(responseCode = "401", description = "No autorizado - Token JWT requerido")
+    })
+    public ResponseEntity<Flux<ProductResponseDto>> getProducts(
+            @Parameter(description = "ID a partir del cual continuar", example = "100")
+            @RequestParam(required = false) Long after) {
+        return stream(() -> reactiveProductService.getAllProducts(after));
+    }
+    
+    /**
+     * Obtiene un producto por su ID
+     */
+    @GetMapping("/{id}")
+    @Operation(summary = "Obtener producto por ID", description = "Recupera un producto específico por su ID sin bloquear el hilo de la petición")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Producto encontrado exitosamente"),
+        @ApiResponse(responseCode = "404", description = "Producto no encontrado"),
+        @ApiResponse(responseCode = "401", description = "No autorizado - Token JWT requerido")
+    })
+    public Mono<ProductResponseDto> getProductById(
+            @Parameter(description = "ID del producto a obtener", example = "1")
+            @PathVariable Long id) {
+        return reactiveProductService.getProductById(id);
+    }
+    
+    /**
+     * Busca productos por nombre y descripción
+     */
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(summary = "Buscar productos", description = "Emite los productos cuyo nombre o descripción contienen palabras que empiezan por los términos buscados, ordenados por relevancia")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Búsqueda realizada exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Límite inválido"),
+        @ApiResponse(responseCode = "401", description = "No autorizado - Token JWT requerido")
+    })
+    public ResponseEntity<Flux<ProductResponseDto>> searchProducts(
+            @Parameter(description = "Texto a buscar en el nombre o la descripción del producto", example = "laptop")
+            @RequestParam String name,
+            @Parameter(description = "Número máximo de resultados", example = "20")
+            @RequestParam(defaultValue = "20") Integer limit) {
+        return stream(() -> reactiveProductService.searchProducts(name, limit));
+    }
+    
+    /**
+     * Emite los productos dentro de un rango de precios
+     */
+    @GetMapping(value = "/price-range", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(summary = "Productos por rango de precio", description = "Emite productos dentro de un rango de precios específico")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Productos transmitidos exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Rango de precios inválido"),
+        @ApiResponse(responseCode = "401", description = "No autorizado - Token JWT requerido")
+    })
+    public ResponseEntity<Flux<ProductResponseDto>> getProductsByPriceRange(
+            @Parameter(description = "Precio mínimo", example = "100.00")
+            @RequestParam BigDecimal minPrice,
+            @Parameter(description = "Precio máximo", example = "500.00")
+            @RequestParam BigDecimal maxPrice) {
+        return stream(() -> reactiveProductService.getProductsByPriceRange(minPrice, maxPrice));
+    }
+    
+    /**
+     * Emite los productos con stock bajo
+     */
+    @GetMapping(value = "/low-stock", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(summary = "Productos con stock bajo", description = "Emite productos con stock menor o igual al umbral especificado")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Productos transmitidos exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Umbral inválido"),
+        @ApiResponse(responseCode = "401", description = "No autorizado - Token JWT requerido")
+    })
+    public ResponseEntity<Flux<ProductResponseDto>> getLowStockProducts(
+            @Parameter(description = "Umbral de stock bajo", example = "10")
+            @RequestParam(defaultValue = "10") Integer threshold) {
+        return stream(() -> reactiveProductService.getLowStockProducts(threshold));
+    }
+    
+    /**
+     * Emite los productos con stock disponible
+     */
+    @GetMapping(value = "/in-stock", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    @Operation(summary = "Productos en stock", description = "Emite productos que tienen stock disponible")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Productos transmitidos exitosamente"),
+        @ApiResponse(responseCode = "401", description = "No autorizado - Token JWT requerido")
+    })
+    public ResponseEntity<Flux<ProductResponseDto>> getProductsInStock() {
+        return ResponseEntity.ok(reactiveProductService.getProductsInStock());
+    }
+    
+    /**
+     * Obtiene el flujo de una consulta validando sus parámetros antes de abrirlo
+     * 
+     * El manejador global no puede escribir su ErrorResponse JSON en NDJSON ni
+     * en text/event-stream: unos parámetros inválidos se responden aquí, sin
+     * cuerpo, antes de abrir el flujo.
+     */
+    private ResponseEntity<Flux<ProductResponseDto>> stream(Supplier<Flux<ProductResponseDto>> query) {
+        try {
+            return ResponseEntity.ok(query.get());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
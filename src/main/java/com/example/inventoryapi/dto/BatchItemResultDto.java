@@ -0,0 +1,100 @@
+package com.example.inventoryapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO con el resultado de un elemento de una operación por lotes
+ *
+ * Este DTO indica, para cada producto enviado en un lote, si fue creado,
+ * actualizado o rechazado, junto con su ID o el motivo del error.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@Schema(description = "Resultado de un elemento de una operación por lotes")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResultDto {
+
+    /**
+     * Estado final de un elemento del lote
+     */
+    public enum Status {
+        CREATED,
+        UPDATED,
+        FAILED
+    }
+
+    @Schema(description = "Posición del elemento en el lote enviado", example = "0")
+    private int index;
+
+    @Schema(description = "Estado del elemento", example = "CREATED")
+    private Status status;
+
+    @Schema(description = "ID del producto creado o actualizado", example = "16")
+    private Long id;
+
+    @Schema(description = "Motivo del error si el elemento fue rechazado", example = "price: El precio es obligatorio")
+    private String error;
+
+    public BatchItemResultDto() {
+    }
+
+    public BatchItemResultDto(int index, Status status, Long id, String error) {
+        this.index = index;
+        this.status = status;
+        this.id = id;
+        this.error = error;
+    }
+
+    public static BatchItemResultDto success(int index, Status status, Long id) {
+        return new BatchItemResultDto(index, status, id, null);
+    }
+
+    public static BatchItemResultDto failed(int index, String error) {
+        return new BatchItemResultDto(index, Status.FAILED, null, error);
+    }
+
+    // Getters y Setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchItemResultDto{" +
+                "index=" + index +
+                ", status=" + status +
+                ", id=" + id +
+                ", error='" + error + '\'' +
+                '}';
+    }
+}
\ No newline at end of file
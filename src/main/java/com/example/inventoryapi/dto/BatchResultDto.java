@@ -0,0 +1,98 @@
+package com.example.inventoryapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * DTO con el resultado de una operación por lotes
+ *
+ * Este DTO resume cuántos productos fueron creados, actualizados o rechazados
+ * e incluye el resultado individual de cada elemento del lote.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@Schema(description = "Resultado de una operación por lotes")
+public class BatchResultDto {
+
+    @Schema(description = "Número de elementos recibidos", example = "1000")
+    private int total;
+
+    @Schema(description = "Número de productos creados", example = "990")
+    private int created;
+
+    @Schema(description = "Número de productos actualizados", example = "0")
+    private int updated;
+
+    @Schema(description = "Número de elementos rechazados", example = "10")
+    private int failed;
+
+    @Schema(description = "Resultado de cada elemento, en el orden del lote")
+    private List<BatchItemResultDto> items;
+
+    public BatchResultDto() {
+    }
+
+    public BatchResultDto(List<BatchItemResultDto> items) {
+        this.items = items;
+        this.total = items.size();
+        for (BatchItemResultDto item : items) {
+            switch (item.getStatus()) {
+                case CREATED -> created++;
+                case UPDATED -> updated++;
+                case FAILED -> failed++;
+            }
+        }
+    }
+
+    // Getters y Setters
+    public int getTotal() {
+        return total;
+    }
+
+    public void setTotal(int total) {
+        this.total = total;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    public void setFailed(int failed) {
+        this.failed = failed;
+    }
+
+    public List<BatchItemResultDto> getItems() {
+        return items;
+    }
+
+    public void setItems(List<BatchItemResultDto> items) {
+        this.items = items;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchResultDto{" +
+                "total=" + total +
+                ", created=" + created +
+                ", updated=" + updated +
+                ", failed=" + failed +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.example.inventoryapi.dto;
+
+import com.example.inventoryapi.event.ProductChangedEvent.ChangeType;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO para un cambio registrado en el historial de cambios de productos
+ *
+ * Cada alta, modificación o borrado confirmado recibe un número de secuencia
+ * creciente; los consumidores lo usan como cursor para sincronizarse. La
+ * secuencia sigue el orden en que se registran los cambios, que con
+ * transacciones concurrentes puede no coincidir con el de confirmación, así
+ * que cada cambio lleva también la versión del producto: el consumidor lo
+ * aplica solo si es posterior a la versión que ya tiene.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@Schema(description = "Cambio de un producto en el historial de cambios")
+public class ProductChangeDto {
+
+    @Schema(description = "Número de secuencia del cambio", example = "1760601234567001")
+    private long sequence;
+
+    @Schema(description = "Tipo de cambio", example = "UPDATED")
+    private ChangeType type;
+
+    @Schema(description = "ID del producto afectado", example = "1")
+    private Long productId;
+
+    @Schema(description = "Versión del producto tras el cambio; en un borrado, la última que tuvo", example = "3")
+    private Long version;
+
+    @Schema(description = "Estado del producto tras el cambio; null si fue eliminado")
+    private ProductResponseDto product;
+
+    @Schema(description = "Fecha y hora en que se confirmó el cambio", example = "2024-01-15T10:30:00")
+    private LocalDateTime changedAt;
+
+    public ProductChangeDto() {
+    }
+
+    public ProductChangeDto(long sequence, ChangeType type, Long productId, Long version,
+                            ProductResponseDto product, LocalDateTime changedAt) {
+        this.sequence = sequence;
+        this.type = type;
+        this.productId = productId;
+        this.version = version;
+        this.product = product;
+        this.changedAt = changedAt;
+    }
+
+    // Getters y Setters
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public void setType(ChangeType type) {
+        this.type = type;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public ProductResponseDto getProduct() {
+        return product;
+    }
+
+    public void setProduct(ProductResponseDto product) {
+        this.product = product;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "ProductChangeDto{" +
+                "sequence=" + sequence +
+                ", type=" + type +
+                ", productId=" + productId +
+                ", version=" + version +
+                ", changedAt=" + changedAt +
+                '}';
+    }
+}
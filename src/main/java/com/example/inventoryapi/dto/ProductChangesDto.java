@@ -0,0 +1,71 @@
+package com.example.inventoryapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * DTO para una página del historial de cambios de productos
+ *
+ * Contiene los cambios posteriores a la secuencia solicitada y la secuencia
+ * que el consumidor debe enviar como 'since' en la siguiente petición.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@Schema(description = "Página del historial de cambios de productos")
+public class ProductChangesDto {
+
+    @Schema(description = "Cambios en orden de secuencia")
+    private List<ProductChangeDto> changes;
+
+    @Schema(description = "Secuencia del último cambio incluido; valor de 'since' para la siguiente petición",
+            example = "1760601234567001")
+    private long lastSequence;
+
+    @Schema(description = "Indica si hay más cambios disponibles después de esta página", example = "false")
+    private boolean hasMore;
+
+    public ProductChangesDto() {
+    }
+
+    public ProductChangesDto(List<ProductChangeDto> changes, long lastSequence, boolean hasMore) {
+        this.changes = changes;
+        this.lastSequence = lastSequence;
+        this.hasMore = hasMore;
+    }
+
+    // Getters y Setters
+    public List<ProductChangeDto> getChanges() {
+        return changes;
+    }
+
+    public void setChanges(List<ProductChangeDto> changes) {
+        this.changes = changes;
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    public void setLastSequence(long lastSequence) {
+        this.lastSequence = lastSequence;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    @Override
+    public String toString() {
+        return "ProductChangesDto{" +
+                "size=" + (changes != null ? changes.size() : 0) +
+                ", lastSequence=" + lastSequence +
+                ", hasMore=" + hasMore +
+                '}';
+    }
+}
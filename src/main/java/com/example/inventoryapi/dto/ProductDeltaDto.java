@@ -0,0 +1,98 @@
+package com.example.inventoryapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO para las respuestas de sincronización incremental de productos
+ *
+ * Contiene los productos modificados y los IDs de los eliminados después del
+ * cursor (fecha, ID) recibido, junto con el cursor para la siguiente petición.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@Schema(description = "Productos modificados y eliminados desde un instante dado")
+public class ProductDeltaDto {
+
+    @Schema(description = "Productos creados o modificados, ordenados por fecha de modificación e ID")
+    private List<ProductResponseDto> modified;
+
+    @Schema(description = "IDs de los productos eliminados")
+    private List<Long> deleted;
+
+    @Schema(description = "Fecha para la siguiente petición (parámetro 'ts')", example = "2024-01-15T10:30:00.123456")
+    private LocalDateTime nextTs;
+
+    @Schema(description = "ID para la siguiente petición (parámetro 'afterId')", example = "100")
+    private Long nextAfterId;
+
+    @Schema(description = "Indica si existen más cambios después de esta página", example = "false")
+    private boolean hasMore;
+
+    public ProductDeltaDto() {
+    }
+
+    public ProductDeltaDto(List<ProductResponseDto> modified, List<Long> deleted,
+                           LocalDateTime nextTs, Long nextAfterId, boolean hasMore) {
+        this.modified = modified;
+        this.deleted = deleted;
+        this.nextTs = nextTs;
+        this.nextAfterId = nextAfterId;
+        this.hasMore = hasMore;
+    }
+
+    // Getters y Setters
+    public List<ProductResponseDto> getModified() {
+        return modified;
+    }
+
+    public void setModified(List<ProductResponseDto> modified) {
+        this.modified = modified;
+    }
+
+    public List<Long> getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(List<Long> deleted) {
+        this.deleted = deleted;
+    }
+
+    public LocalDateTime getNextTs() {
+        return nextTs;
+    }
+
+    public void setNextTs(LocalDateTime nextTs) {
+        this.nextTs = nextTs;
+    }
+
+    public Long getNextAfterId() {
+        return nextAfterId;
+    }
+
+    public void setNextAfterId(Long nextAfterId) {
+        this.nextAfterId = nextAfterId;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    @Override
+    public String toString() {
+        return "ProductDeltaDto{" +
+                "modified=" + (modified != null ? modified.size() : 0) +
+                ", deleted=" + (deleted != null ? deleted.size() : 0) +
+                ", nextTs=" + nextTs +
+                ", nextAfterId=" + nextAfterId +
+                ", hasMore=" + hasMore +
+                '}';
+    }
+}
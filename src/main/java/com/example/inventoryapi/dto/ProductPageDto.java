@@ -0,0 +1,82 @@
+package com.example.inventoryapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.List;
+
+/**
+ * DTO para las respuestas paginadas de productos
+ *
+ * Este DTO representa una página de productos obtenida mediante paginación
+ * por cursor (keyset) sobre el ID, junto con el cursor para la siguiente página.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@Schema(description = "Página de productos con paginación por cursor")
+public class ProductPageDto {
+
+    @Schema(description = "Productos de la página actual, ordenados por ID")
+    private List<ProductResponseDto> content;
+
+    @Schema(description = "Cursor para solicitar la siguiente página (parámetro 'after')", example = "100")
+    private Long nextCursor;
+
+    @Schema(description = "Indica si existen más productos después de esta página", example = "true")
+    private boolean hasMore;
+
+    @Schema(description = "Tamaño máximo de página solicitado", example = "100")
+    private int limit;
+
+    public ProductPageDto() {
+    }
+
+    public ProductPageDto(List<ProductResponseDto> content, Long nextCursor, boolean hasMore, int limit) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.limit = limit;
+    }
+
+    // Getters y Setters
+    public List<ProductResponseDto> getContent() {
+        return content;
+    }
+
+    public void setContent(List<ProductResponseDto> content) {
+        this.content = content;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public void setLimit(int limit) {
+        this.limit = limit;
+    }
+
+    @Override
+    public String toString() {
+        return "ProductPageDto{" +
+                "size=" + (content != null ? content.size() : 0) +
+                ", nextCursor=" + nextCursor +
+                ", hasMore=" + hasMore +
+                ", limit=" + limit +
+                '}';
+    }
+}
\ No newline at end of file
@@ -37,11 +37,14 @@ public class ProductResponseDto {
     @Schema(description = "Fecha de última actualización", example = "2024-01-15T10:30:00")
     private LocalDateTime updatedAt;
     
+    @Schema(description = "Versión del producto, se incrementa con cada modificación", example = "3")
+    private Long version;
+    
     public ProductResponseDto() {
     }
     
     public ProductResponseDto(Long id, String name, String description, BigDecimal price, 
-                            Integer quantity, LocalDateTime createdAt, LocalDateTime updatedAt) {
+                            Integer quantity, LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
         this.id = id;
         this.name = name;
         this.description = description;
@@ -49,6 +52,7 @@ public class ProductResponseDto {
         this.quantity = quantity;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
+        this.version = version;
     }
     
     // Getters y Setters
@@ -108,6 +112,14 @@ public class ProductResponseDto {
         this.updatedAt = updatedAt;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     @Override
     public String toString() {
         return "ProductResponseDto{" +
@@ -118,6 +130,7 @@ public class ProductResponseDto {
                 ", quantity=" + quantity +
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
+                ", version=" + version +
                 '}';
     }
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.example.inventoryapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.PositiveOrZero;
+
+/**
+ * DTO para cambiar la configuración del registro de consultas SQL
+ *
+ * Todos los campos son opcionales: los que se omiten conservan su valor actual.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@Schema(description = "Configuración del registro de consultas SQL")
+public class QueryLogSettingsDto {
+
+    @Schema(description = "Activa o desactiva la medición de consultas", example = "true")
+    private Boolean enabled;
+
+    @Schema(description = "Fracción de consultas registradas, entre 0 y 1", example = "0.01")
+    @DecimalMin(value = "0.0", message = "La tasa de muestreo no puede ser negativa")
+    @DecimalMax(value = "1.0", message = "La tasa de muestreo no puede ser mayor que 1")
+    private Double sampleRate;
+
+    @Schema(description = "Duración en ms a partir de la cual una consulta se registra siempre", example = "100")
+    @PositiveOrZero(message = "El umbral de consulta lenta no puede ser negativo")
+    private Long slowThresholdMs;
+
+    public QueryLogSettingsDto() {
+    }
+
+    public QueryLogSettingsDto(Boolean enabled, Double sampleRate, Long slowThresholdMs) {
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.slowThresholdMs = slowThresholdMs;
+    }
+
+    // Getters y Setters
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(Double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public Long getSlowThresholdMs() {
+        return slowThresholdMs;
+    }
+
+    public void setSlowThresholdMs(Long slowThresholdMs) {
+        this.slowThresholdMs = slowThresholdMs;
+    }
+
+    @Override
+    public String toString() {
+        return "QueryLogSettingsDto{" +
+                "enabled=" + enabled +
+                ", sampleRate=" + sampleRate +
+                ", slowThresholdMs=" + slowThresholdMs +
+                '}';
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.inventoryapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTO para las peticiones de ajuste de stock
+ * 
+ * Este DTO define el delta con signo que se aplica a la cantidad de un
+ * producto: positivo para entradas y negativo para salidas.
+ * 
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@Schema(description = "Ajuste relativo de la cantidad de un producto")
+public class StockAdjustmentRequestDto {
+    
+    @Schema(description = "Cantidad a sumar (positiva) o restar (negativa)", example = "-3")
+    @NotNull(message = "El delta es obligatorio")
+    private Integer delta;
+    
+    public StockAdjustmentRequestDto() {
+    }
+    
+    public StockAdjustmentRequestDto(Integer delta) {
+        this.delta = delta;
+    }
+    
+    // Getters y Setters
+    public Integer getDelta() {
+        return delta;
+    }
+    
+    public void setDelta(Integer delta) {
+        this.delta = delta;
+    }
+    
+    @Override
+    public String toString() {
+        return "StockAdjustmentRequestDto{" +
+                "delta=" + delta +
+                '}';
+    }
+}
\ No newline at end of file
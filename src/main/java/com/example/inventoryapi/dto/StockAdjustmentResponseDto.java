@@ -0,0 +1,67 @@
+package com.example.inventoryapi.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * DTO para las respuestas de ajuste de stock
+ * 
+ * Este DTO devuelve la cantidad resultante tras aplicar un ajuste de stock.
+ * 
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@Schema(description = "Resultado de un ajuste de stock")
+public class StockAdjustmentResponseDto {
+    
+    @Schema(description = "ID del producto", example = "1")
+    private Long id;
+    
+    @Schema(description = "Delta aplicado", example = "-3")
+    private Integer delta;
+    
+    @Schema(description = "Cantidad resultante tras el ajuste", example = "22")
+    private Integer quantity;
+    
+    public StockAdjustmentResponseDto() {
+    }
+    
+    public StockAdjustmentResponseDto(Long id, Integer delta, Integer quantity) {
+        this.id = id;
+        this.delta = delta;
+        this.quantity = quantity;
+    }
+    
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public Integer getDelta() {
+        return delta;
+    }
+    
+    public void setDelta(Integer delta) {
+        this.delta = delta;
+    }
+    
+    public Integer getQuantity() {
+        return quantity;
+    }
+    
+    public void setQuantity(Integer quantity) {
+        this.quantity = quantity;
+    }
+    
+    @Override
+    public String toString() {
+        return "StockAdjustmentResponseDto{" +
+                "id=" + id +
+                ", delta=" + delta +
+                ", quantity=" + quantity +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,101 @@
+package com.example.inventoryapi.event;
+
+import com.example.inventoryapi.dto.ProductResponseDto;
+
+/**
+ * Evento publicado cuando se crea, actualiza o elimina un producto
+ *
+ * El evento transporta el estado del producto antes y después del cambio,
+ * de modo que los consumidores puedan aplicar deltas sin volver a consultar
+ * la base de datos. Se consume tras el commit de la transacción, en el
+ * orden indicado por las constantes *_ORDER.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+public class ProductChangedEvent {
+
+    /**
+     * Tipo de cambio aplicado al producto
+     */
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    /**
+     * Orden de los consumidores que mantienen estado derivado en memoria
+     * (estadísticas, índice de búsqueda, copia en columnas)
+     */
+    public static final int APPLY_ORDER = 0;
+
+    /**
+     * Orden de la invalidación de respuestas guardadas, una vez aplicado el
+     * estado derivado con el que se volverán a generar
+     */
+    public static final int INVALIDATE_ORDER = APPLY_ORDER + 1;
+
+    /**
+     * Orden de la notificación del cambio a los clientes, cuando todo lo
+     * anterior ya refleja el cambio
+     */
+    public static final int NOTIFY_ORDER = INVALIDATE_ORDER + 1;
+
+    private final ChangeType type;
+
+    private final ProductResponseDto previous;
+
+    private final ProductResponseDto current;
+
+    private ProductChangedEvent(ChangeType type, ProductResponseDto previous, ProductResponseDto current) {
+        this.type = type;
+        this.previous = previous;
+        this.current = current;
+    }
+
+    public static ProductChangedEvent created(ProductResponseDto current) {
+        return new ProductChangedEvent(ChangeType.CREATED, null, current);
+    }
+
+    public static ProductChangedEvent updated(ProductResponseDto previous, ProductResponseDto current) {
+        return new ProductChangedEvent(ChangeType.UPDATED, previous, current);
+    }
+
+    public static ProductChangedEvent deleted(ProductResponseDto previous) {
+        return new ProductChangedEvent(ChangeType.DELETED, previous, null);
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    /**
+     * @return estado anterior del producto, o null si fue creado
+     */
+    public ProductResponseDto getPrevious() {
+        return previous;
+    }
+
+    /**
+     * @return estado actual del producto, o null si fue eliminado
+     */
+    public ProductResponseDto getCurrent() {
+        return current;
+    }
+
+    /**
+     * @return ID del producto afectado
+     */
+    public Long getProductId() {
+        return current != null ? current.getId() : previous.getId();
+    }
+
+    @Override
+    public String toString() {
+        return "ProductChangedEvent{" +
+                "type=" + type +
+                ", productId=" + getProductId() +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.example.inventoryapi.exception;
+
+/**
+ * Excepción personalizada para cursores del historial de cambios ya descartados
+ *
+ * Esta excepción se lanza cuando un consumidor pide los cambios posteriores a
+ * una secuencia que ya no se conserva (el historial es limitado o la
+ * aplicación se ha reiniciado). El consumidor debe volver a sincronizar el
+ * catálogo completo.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+public class ChangeLogExpiredException extends RuntimeException {
+
+    /**
+     * Constructor con mensaje de error
+     *
+     * @param message mensaje descriptivo del error
+     */
+    public ChangeLogExpiredException(String message) {
+        super(message);
+    }
+}
@@ -1,8 +1,11 @@
 package com.example.inventoryapi.exception;
 
+import com.example.inventoryapi.metrics.ErrorMetrics;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -24,6 +27,12 @@ import java.util.Map;
 @ControllerAdvice
 public class GlobalExceptionHandler {
     
+    private final ErrorMetrics errorMetrics;
+    
+    public GlobalExceptionHandler(ErrorMetrics errorMetrics) {
+        this.errorMetrics = errorMetrics;
+    }
+    
     /**
      * Maneja excepciones de producto no encontrado
      * 
@@ -35,6 +44,8 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleProductNotFoundException(
             ProductNotFoundException ex, WebRequest request) {
         
+        errorMetrics.increment(ErrorMetrics.NOT_FOUND, ex);
+        
         ErrorResponse errorResponse = new ErrorResponse(
             LocalDateTime.now(),
             HttpStatus.NOT_FOUND.value(),
@@ -46,6 +57,118 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
     
+    /**
+     * Maneja excepciones de stock insuficiente
+     * 
+     * @param ex excepción InsufficientStockException
+     * @param request contexto de la petición
+     * @return respuesta de error estructurada
+     */
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<ErrorResponse> handleInsufficientStockException(
+            InsufficientStockException ex, WebRequest request) {
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.CONFLICT.value(),
+            "INSUFFICIENT_STOCK",
+            ex.getMessage(),
+            request.getDescription(false)
+        );
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+    
+    /**
+     * Maneja búsquedas recibidas mientras el índice se construye
+     *
+     * @param ex excepción SearchIndexUnavailableException
+     * @param request contexto de la petición
+     * @return respuesta de error estructurada con cabecera Retry-After
+     */
+    @ExceptionHandler(SearchIndexUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleSearchIndexUnavailableException(
+            SearchIndexUnavailableException ex, WebRequest request) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "SEARCH_INDEX_BUILDING",
+            ex.getMessage(),
+            request.getDescription(false)
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(errorResponse);
+    }
+
+    /**
+     * Maneja cursores del historial de cambios que ya no se conservan
+     *
+     * @param ex excepción ChangeLogExpiredException
+     * @param request contexto de la petición
+     * @return respuesta de error estructurada
+     */
+    @ExceptionHandler(ChangeLogExpiredException.class)
+    public ResponseEntity<ErrorResponse> handleChangeLogExpiredException(
+            ChangeLogExpiredException ex, WebRequest request) {
+
+        ErrorResponse errorResponse = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.GONE.value(),
+            "CHANGES_EXPIRED",
+            ex.getMessage(),
+            request.getDescription(false)
+        );
+
+        return ResponseEntity.status(HttpStatus.GONE).body(errorResponse);
+    }
+
+    /**
+     * Maneja excepciones de versión de producto no coincidente (If-Match)
+     * 
+     * @param ex excepción ProductVersionMismatchException
+     * @param request contexto de la petición
+     * @return respuesta de error estructurada
+     */
+    @ExceptionHandler(ProductVersionMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleProductVersionMismatchException(
+            ProductVersionMismatchException ex, WebRequest request) {
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.PRECONDITION_FAILED.value(),
+            "PRECONDITION_FAILED",
+            ex.getMessage(),
+            request.getDescription(false)
+        );
+        
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
+    }
+    
+    /**
+     * Maneja excepciones de bloqueo optimista por modificaciones concurrentes
+     * 
+     * @param ex excepción OptimisticLockingFailureException
+     * @param request contexto de la petición
+     * @return respuesta de error estructurada
+     */
+    @ExceptionHandler(org.springframework.dao.OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(
+            org.springframework.dao.OptimisticLockingFailureException ex, WebRequest request) {
+        
+        ErrorResponse errorResponse = new ErrorResponse(
+            LocalDateTime.now(),
+            HttpStatus.CONFLICT.value(),
+            "CONCURRENT_MODIFICATION",
+            "El producto fue modificado por otra petición, vuelva a intentarlo",
+            request.getDescription(false)
+        );
+        
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
+    }
+    
     /**
      * Maneja excepciones de validación
      * 
@@ -57,6 +180,8 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleValidationExceptions(
             MethodArgumentNotValidException ex, WebRequest request) {
         
+        errorMetrics.increment(ErrorMetrics.VALIDATION, ex);
+        
         Map<String, String> validationErrors = new HashMap<>();
         ex.getBindingResult().getAllErrors().forEach((error) -> {
             String fieldName = ((FieldError) error).getField();
@@ -87,6 +212,8 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleIllegalArgumentException(
             IllegalArgumentException ex, WebRequest request) {
         
+        errorMetrics.increment(ErrorMetrics.VALIDATION, ex);
+        
         ErrorResponse errorResponse = new ErrorResponse(
             LocalDateTime.now(),
             HttpStatus.BAD_REQUEST.value(),
@@ -109,6 +236,8 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleAccessDeniedException(
             org.springframework.security.access.AccessDeniedException ex, WebRequest request) {
         
+        errorMetrics.increment(ErrorMetrics.AUTH, ex);
+        
         ErrorResponse errorResponse = new ErrorResponse(
             LocalDateTime.now(),
             HttpStatus.FORBIDDEN.value(),
@@ -153,6 +282,8 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleConstraintViolationException(
             jakarta.validation.ConstraintViolationException ex, WebRequest request) {
         
+        errorMetrics.increment(ErrorMetrics.VALIDATION, ex);
+        
         Map<String, String> validationErrors = new HashMap<>();
         ex.getConstraintViolations().forEach(violation -> {
             String fieldName = violation.getPropertyPath().toString();
@@ -172,6 +303,24 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
     
+    /**
+     * Maneja peticiones cuya cabecera Accept no admite ninguna de las
+     * representaciones del endpoint (por ejemplo, JSON en un endpoint que solo
+     * emite NDJSON o Server-Sent Events)
+     * 
+     * La respuesta va sin cuerpo: el cliente no acepta ninguna de las
+     * representaciones en las que podría escribirse el error.
+     * 
+     * @param ex excepción HttpMediaTypeNotAcceptableException
+     * @return respuesta 406 sin cuerpo
+     */
+    @ExceptionHandler(HttpMediaTypeNotAcceptableException.class)
+    public ResponseEntity<Void> handleHttpMediaTypeNotAcceptableException(
+            HttpMediaTypeNotAcceptableException ex) {
+        
+        return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+    }
+    
     /**
      * Maneja todas las demás excepciones no específicas
      * 
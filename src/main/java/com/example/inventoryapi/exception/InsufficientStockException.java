@@ -0,0 +1,22 @@
+package com.example.inventoryapi.exception;
+
+/**
+ * Excepción personalizada para cuando no hay stock suficiente
+ * 
+ * Esta excepción se lanza cuando un ajuste de stock dejaría
+ * la cantidad de un producto por debajo de cero.
+ * 
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+public class InsufficientStockException extends RuntimeException {
+    
+    /**
+     * Constructor con mensaje de error
+     * 
+     * @param message mensaje descriptivo del error
+     */
+    public InsufficientStockException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.example.inventoryapi.exception;
+
+/**
+ * Excepción personalizada para cuando la versión de un producto no coincide
+ * 
+ * Esta excepción se lanza cuando una petición condicional (If-Match) intenta
+ * modificar un producto que ya fue modificado por otro cliente.
+ * 
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+public class ProductVersionMismatchException extends RuntimeException {
+    
+    /**
+     * Constructor con mensaje de error
+     * 
+     * @param message mensaje descriptivo del error
+     */
+    public ProductVersionMismatchException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
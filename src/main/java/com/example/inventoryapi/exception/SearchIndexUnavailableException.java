@@ -0,0 +1,22 @@
+package com.example.inventoryapi.exception;
+
+/**
+ * Excepción personalizada para cuando el índice de búsqueda aún no está disponible
+ *
+ * Esta excepción se lanza cuando se recibe una búsqueda mientras el índice
+ * se sigue construyendo en segundo plano tras el arranque.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+public class SearchIndexUnavailableException extends RuntimeException {
+
+    /**
+     * Constructor con mensaje de error
+     *
+     * @param message mensaje descriptivo del error
+     */
+    public SearchIndexUnavailableException(String message) {
+        super(message);
+    }
+}
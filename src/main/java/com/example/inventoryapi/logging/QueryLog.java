@@ -0,0 +1,173 @@
+package com.example.inventoryapi.logging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registro estructurado, muestreado y asíncrono de consultas SQL
+ *
+ * El hilo de la petición solo decide si la consulta se registra (siempre las
+ * lentas, el resto con la probabilidad configurada) y encola sus datos; el
+ * formateo a JSON y la escritura en el log se hacen en un hilo aparte. Si la
+ * cola está llena la entrada se descarta en lugar de bloquear la petición.
+ * La configuración puede cambiarse en caliente desde /admin/query-log.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@Component
+public class QueryLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryLog.class);
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    /**
+     * Consulta pendiente de escribir en el log
+     */
+    private record Entry(long timestamp, String thread, String operation, String sql,
+                         long durationNanos, boolean slow, boolean failed) {
+    }
+
+    private final BlockingQueue<Entry> queue;
+
+    private final LongAdder logged = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile boolean enabled;
+
+    private volatile double sampleRate;
+
+    private volatile long slowThresholdNanos;
+
+    private Thread writer;
+
+    public QueryLog(@Value("${inventory.query-log.enabled:false}") boolean enabled,
+                    @Value("${inventory.query-log.sample-rate:0.01}") double sampleRate,
+                    @Value("${inventory.query-log.slow-threshold:100ms}") Duration slowThreshold,
+                    @Value("${inventory.query-log.queue-capacity:10000}") int queueCapacity) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        update(enabled, sampleRate, slowThreshold);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer = new Thread(this::drain, "query-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        writer.interrupt();
+    }
+
+    /**
+     * @return true si las consultas deben medirse
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Registra la ejecución de una consulta si entra en la muestra
+     *
+     * @param operation método JDBC ejecutado (executeQuery, executeUpdate, ...)
+     * @param sql sentencia ejecutada
+     * @param durationNanos duración de la ejecución
+     * @param failed true si la ejecución lanzó una excepción
+     */
+    public void record(String operation, String sql, long durationNanos, boolean failed) {
+        boolean slow = durationNanos >= slowThresholdNanos;
+        if (!slow && !failed && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        Entry entry = new Entry(System.currentTimeMillis(), Thread.currentThread().getName(),
+                operation, sql, durationNanos, slow, failed);
+        if (!queue.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Cambia la configuración del registro; los valores null se mantienen
+     *
+     * @param enabled activa o desactiva la medición de consultas
+     * @param sampleRate fracción de consultas registradas (0 a 1)
+     * @param slowThreshold duración a partir de la cual una consulta se registra siempre
+     */
+    public void update(Boolean enabled, Double sampleRate, Duration slowThreshold) {
+        if (sampleRate != null) {
+            if (sampleRate < 0 || sampleRate > 1) {
+                throw new IllegalArgumentException("La tasa de muestreo debe estar entre 0 y 1");
+            }
+            this.sampleRate = sampleRate;
+        }
+        if (slowThreshold != null) {
+            if (slowThreshold.isNegative()) {
+                throw new IllegalArgumentException("El umbral de consulta lenta no puede ser negativo");
+            }
+            this.slowThresholdNanos = slowThreshold.toNanos();
+        }
+        if (enabled != null) {
+            this.enabled = enabled;
+        }
+    }
+
+    /**
+     * @return configuración actual y contadores del registro
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", enabled);
+        status.put("sampleRate", sampleRate);
+        status.put("slowThresholdMs", slowThresholdNanos / 1_000_000);
+        status.put("logged", logged.sum());
+        status.put("dropped", dropped.sum());
+        status.put("queued", queue.size());
+        return status;
+    }
+
+    private void drain() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                write(queue.take());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(Entry entry) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("ts", Instant.ofEpochMilli(entry.timestamp()).toString());
+        fields.put("thread", entry.thread());
+        fields.put("op", entry.operation());
+        fields.put("durationMs", entry.durationNanos() / 1_000_000.0);
+        fields.put("slow", entry.slow());
+        fields.put("failed", entry.failed());
+        fields.put("sql", entry.sql());
+        try {
+            logger.info(JSON.writeValueAsString(fields));
+            logged.increment();
+        } catch (JsonProcessingException ex) {
+            dropped.increment();
+        }
+    }
+}
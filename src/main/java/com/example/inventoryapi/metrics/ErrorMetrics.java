@@ -0,0 +1,60 @@
+package com.example.inventoryapi.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Contadores de errores devueltos a los clientes
+ *
+ * Registra el contador inventory.errors con las etiquetas type (not_found,
+ * validation, auth) y reason (excepción o causa concreta).
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@Component
+public class ErrorMetrics {
+
+    public static final String NOT_FOUND = "not_found";
+
+    public static final String VALIDATION = "validation";
+
+    public static final String AUTH = "auth";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public ErrorMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Incrementa el contador de un tipo de error
+     *
+     * @param type tipo de error
+     * @param reason causa concreta del error
+     */
+    public void increment(String type, String reason) {
+        counters.computeIfAbsent(type + ':' + reason, key -> Counter.builder("inventory.errors")
+                .description("Errores devueltos a los clientes")
+                .tag("type", type)
+                .tag("reason", reason)
+                .register(meterRegistry))
+                .increment();
+    }
+
+    /**
+     * Incrementa el contador de un tipo de error usando la excepción como causa
+     *
+     * @param type tipo de error
+     * @param ex excepción que originó el error
+     */
+    public void increment(String type, Exception ex) {
+        increment(type, ex.getClass().getSimpleName());
+    }
+}
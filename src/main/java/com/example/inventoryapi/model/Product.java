@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 public class Product {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
     
     @NotBlank(message = "El nombre del producto es obligatorio")
@@ -27,6 +28,9 @@ public class Product {
     @Column(nullable = false, length = 100)
     private String name;
     
+    @Column(name = "name_lower", length = 100, insertable = false, updatable = false)
+    private String nameLower;
+    
     @Size(max = 500, message = "La descripción no puede exceder 500 caracteres")
     @Column(length = 500)
     private String description;
@@ -48,6 +52,10 @@ public class Product {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
     public Product() {
     }
     
@@ -86,6 +94,15 @@ public class Product {
         this.name = name;
     }
     
+    /**
+     * Nombre en minúsculas, calculado por la base de datos e indexado como único
+     * 
+     * @return nombre en minúsculas, o null si el producto aún no se ha recargado
+     */
+    public String getNameLower() {
+        return nameLower;
+    }
+    
     public String getDescription() {
         return description;
     }
@@ -126,6 +143,14 @@ public class Product {
         this.updatedAt = updatedAt;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     @Override
     public String toString() {
         return "Product{" +
@@ -136,6 +161,7 @@ public class Product {
                 ", quantity=" + quantity +
                 ", createdAt=" + createdAt +
                 ", updatedAt=" + updatedAt +
+                ", version=" + version +
                 '}';
     }
 }
\ No newline at end of file
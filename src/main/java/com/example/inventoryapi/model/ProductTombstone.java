@@ -0,0 +1,59 @@
+package com.example.inventoryapi.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entidad ProductTombstone que registra un producto eliminado
+ * 
+ * Se conserva el ID y la fecha de borrado para que los clientes que se
+ * sincronizan de forma incremental puedan eliminar su copia del producto.
+ * 
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@Entity
+@Table(name = "product_tombstones")
+public class ProductTombstone {
+    
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+    
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+    
+    public ProductTombstone() {
+    }
+    
+    public ProductTombstone(Long productId, LocalDateTime deletedAt) {
+        this.productId = productId;
+        this.deletedAt = deletedAt;
+    }
+    
+    // Getters y Setters
+    public Long getProductId() {
+        return productId;
+    }
+    
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+    
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+    
+    public void setDeletedAt(LocalDateTime deletedAt) {
+        this.deletedAt = deletedAt;
+    }
+    
+    @Override
+    public String toString() {
+        return "ProductTombstone{" +
+                "productId=" + productId +
+                ", deletedAt=" + deletedAt +
+                '}';
+    }
+}
@@ -1,20 +1,31 @@
 package com.example.inventoryapi.repository;
 
+import com.example.inventoryapi.dto.ProductResponseDto;
 import com.example.inventoryapi.model.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositorio para la entidad Product
  * 
  * Esta interfaz extiende JpaRepository para proporcionar operaciones CRUD
- * básicas y métodos de consulta personalizados para productos.
+ * básicas y métodos de consulta personalizados para productos. Los listados
+ * de solo lectura devuelven directamente ProductResponseDto mediante una
+ * expresión de constructor, sin cargar entidades en el contexto de persistencia.
  * 
  * @author Sistema de Inventario
  * @version 1.0.0
@@ -23,12 +34,11 @@ import java.util.Optional;
 public interface ProductRepository extends JpaRepository<Product, Long> {
     
     /**
-     * Busca productos por nombre (búsqueda parcial, insensible a mayúsculas)
-     * 
-     * @param name parte del nombre a buscar
-     * @return lista de productos que coinciden con el nombre
+     * Proyección JPQL de un producto a ProductResponseDto
      */
-    List<Product> findByNameContainingIgnoreCase(String name);
+    String SELECT_RESPONSE_DTO = "SELECT new com.example.inventoryapi.dto.ProductResponseDto("
+            + "p.id, p.name, p.description, p.price, p.quantity, p.createdAt, p.updatedAt, p.version) "
+            + "FROM Product p ";
     
     /**
      * Busca productos por rango de precios
@@ -37,7 +47,10 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * @param maxPrice precio máximo
      * @return lista de productos dentro del rango de precios
      */
-    List<Product> findByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice);
+    @Query(SELECT_RESPONSE_DTO + "WHERE p.price BETWEEN :minPrice AND :maxPrice")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<ProductResponseDto> findDtosByPriceBetween(@Param("minPrice") BigDecimal minPrice,
+                                                    @Param("maxPrice") BigDecimal maxPrice);
     
     /**
      * Busca productos con cantidad menor o igual a la especificada
@@ -45,7 +58,9 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * @param quantity cantidad límite
      * @return lista de productos con stock bajo
      */
-    List<Product> findByQuantityLessThanEqual(Integer quantity);
+    @Query(SELECT_RESPONSE_DTO + "WHERE p.quantity <= :quantity")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<ProductResponseDto> findDtosByQuantityLessThanEqual(@Param("quantity") Integer quantity);
     
     /**
      * Verifica si existe un producto con el nombre especificado
@@ -53,7 +68,8 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * @param name nombre del producto
      * @return true si existe, false en caso contrario
      */
-    boolean existsByNameIgnoreCase(String name);
+    @Query("SELECT COUNT(p) > 0 FROM Product p WHERE p.nameLower = LOWER(:name)")
+    boolean existsByNameIgnoreCase(@Param("name") String name);
     
     /**
      * Busca un producto por nombre exacto (insensible a mayúsculas)
@@ -61,7 +77,17 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * @param name nombre del producto
      * @return Optional con el producto si se encuentra
      */
-    Optional<Product> findByNameIgnoreCase(String name);
+    @Query("SELECT p FROM Product p WHERE p.nameLower = LOWER(:name)")
+    Optional<Product> findByNameIgnoreCase(@Param("name") String name);
+    
+    /**
+     * Busca productos cuyos nombres en minúsculas estén en la colección
+     * 
+     * @param names nombres en minúsculas
+     * @return lista de productos que coinciden
+     */
+    @Query("SELECT p FROM Product p WHERE p.nameLower IN :names")
+    List<Product> findByLowerNameIn(@Param("names") Collection<String> names);
     
     /**
      * Cuenta el número total de productos en inventario
@@ -79,19 +105,91 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     @Query("SELECT SUM(p.price * p.quantity) FROM Product p")
     BigDecimal calculateTotalInventoryValue();
     
+    /**
+     * Cuenta los productos con stock disponible (cantidad > 0)
+     * 
+     * @return número de productos en stock
+     */
+    @Query("SELECT COUNT(p) FROM Product p WHERE p.quantity > 0")
+    long countProductsInStock();
+    
     /**
      * Busca productos con stock disponible (cantidad > 0)
      * 
      * @return lista de productos con stock disponible
      */
-    @Query("SELECT p FROM Product p WHERE p.quantity > 0")
-    List<Product> findProductsInStock();
+    @Query(SELECT_RESPONSE_DTO + "WHERE p.quantity > 0")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<ProductResponseDto> findDtosInStock();
     
     /**
-     * Busca productos por descripción (búsqueda parcial, insensible a mayúsculas)
+     * Obtiene la siguiente página de productos mediante paginación por cursor (keyset)
+     * 
+     * @param after ID del último producto de la página anterior
+     * @param pageable tamaño de la página (se ignora el número de página)
+     * @return productos con ID mayor al cursor, ordenados por ID
+     */
+    @Query(SELECT_RESPONSE_DTO + "WHERE p.id > :after ORDER BY p.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<ProductResponseDto> findDtosByIdGreaterThan(@Param("after") Long after, Pageable pageable);
+    
+    /**
+     * Busca productos por sus IDs
+     * 
+     * @param ids IDs de los productos
+     * @return productos encontrados, sin un orden definido
+     */
+    @Query(SELECT_RESPONSE_DTO + "WHERE p.id IN :ids")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<ProductResponseDto> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+    
+    /**
+     * Busca los productos modificados después de un cursor (fecha de modificación, ID)
+     * 
+     * @param updatedAt fecha de modificación del cursor
+     * @param afterId ID del cursor; los productos modificados en la misma fecha con ID mayor se incluyen
+     * @param until fecha de modificación máxima
+     * @param pageable límite de resultados
+     * @return productos ordenados por fecha de modificación e ID
+     */
+    @Query(SELECT_RESPONSE_DTO + "WHERE p.updatedAt >= :updatedAt " +
+           "AND (p.updatedAt > :updatedAt OR p.id > :afterId) AND p.updatedAt <= :until " +
+           "ORDER BY p.updatedAt, p.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<ProductResponseDto> findDtosModifiedAfter(@Param("updatedAt") LocalDateTime updatedAt,
+                                                   @Param("afterId") Long afterId,
+                                                   @Param("until") LocalDateTime until,
+                                                   Pageable pageable);
+    
+    /**
+     * Recorre todos los productos ordenados por ID con un cursor de solo avance
+     * 
+     * El Stream debe consumirse dentro de una transacción y cerrarse al terminar.
+     * 
+     * @return stream de productos ordenados por ID
+     */
+    @Query("SELECT p FROM Product p ORDER BY p.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Product> streamAllOrderedById();
+    
+    /**
+     * Ajusta la cantidad de un producto de forma atómica con un UPDATE condicional
+     * 
+     * La condición impide que la cantidad quede negativa o supere el máximo de
+     * la columna sin necesidad de leer el producto previamente ni de tomar un
+     * bloqueo explícito. La condición suma en BIGINT para que la cantidad
+     * resultante no desborde antes de compararse con el máximo.
      * 
-     * @param description parte de la descripción a buscar
-     * @return lista de productos que coinciden con la descripción
+     * @param id ID del producto
+     * @param delta cantidad a sumar (positiva) o restar (negativa)
+     * @param now fecha de actualización
+     * @return número de filas actualizadas (0 si no existe o la cantidad resultante no es válida)
      */
-    List<Product> findByDescriptionContainingIgnoreCase(String description);
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.quantity = p.quantity + :delta, p.updatedAt = :now, p.version = p.version + 1 " +
+           "WHERE p.id = :id AND cast(p.quantity as Long) + :delta BETWEEN 0 AND " + Integer.MAX_VALUE)
+    int adjustQuantity(@Param("id") Long id, @Param("delta") long delta, @Param("now") LocalDateTime now);
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.example.inventoryapi.repository;
+
+import com.example.inventoryapi.model.ProductTombstone;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repositorio para la entidad ProductTombstone
+ * 
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@Repository
+public interface ProductTombstoneRepository extends JpaRepository<ProductTombstone, Long> {
+    
+    /**
+     * Busca los productos eliminados después de un cursor (fecha de borrado, ID)
+     * 
+     * @param deletedAt fecha de borrado del cursor
+     * @param afterId ID del cursor; los borrados en la misma fecha con ID mayor se incluyen
+     * @param until fecha de borrado máxima
+     * @param pageable límite de resultados
+     * @return productos eliminados ordenados por fecha de borrado e ID
+     */
+    @Query("SELECT t FROM ProductTombstone t WHERE t.deletedAt >= :deletedAt " +
+           "AND (t.deletedAt > :deletedAt OR t.productId > :afterId) AND t.deletedAt <= :until " +
+           "ORDER BY t.deletedAt, t.productId")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    List<ProductTombstone> findDeletedAfter(@Param("deletedAt") LocalDateTime deletedAt,
+                                            @Param("afterId") Long afterId,
+                                            @Param("until") LocalDateTime until,
+                                            Pageable pageable);
+}
@@ -0,0 +1,70 @@
+package com.example.inventoryapi.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool acotado para la verificación de contraseñas
+ *
+ * Cada login cuesta una verificación BCrypt, deliberadamente cara en CPU.
+ * Ejecutarlas en un pool de tamaño fijo con una cola limitada evita que una
+ * ráfaga de logins ocupe todos los hilos de Tomcat y deje sin CPU al resto
+ * de peticiones: lo que no cabe en la cola se rechaza de inmediato.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@Component
+public class AuthenticationWorkPool {
+
+    private final AuthenticationManager authenticationManager;
+
+    private final ThreadPoolExecutor executor;
+
+    public AuthenticationWorkPool(AuthenticationManager authenticationManager, MeterRegistry meterRegistry,
+                                  @Value("${inventory.auth.hash-threads:0}") int hashThreads,
+                                  @Value("${inventory.auth.hash-queue-capacity:100}") int queueCapacity) {
+        this.authenticationManager = authenticationManager;
+
+        // Por defecto, la mitad de los procesadores: el resto queda para las peticiones normales
+        int threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "auth-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "authHash");
+    }
+
+    /**
+     * Autentica unas credenciales en el pool
+     *
+     * @param credentials credenciales a verificar
+     * @return autenticación completada, o fallida con la excepción de Spring Security
+     * @throws RejectedExecutionException si el pool y su cola están llenos
+     */
+    public CompletableFuture<Authentication> authenticate(Authentication credentials) {
+        return CompletableFuture.supplyAsync(() -> authenticationManager.authenticate(credentials), executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
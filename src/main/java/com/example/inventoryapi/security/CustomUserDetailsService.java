@@ -1,6 +1,5 @@
 package com.example.inventoryapi.security;
 
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -10,12 +9,15 @@ import org.springframework.stereotype.Service;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Servicio personalizado para cargar detalles de usuario
  * 
  * Esta implementación maneja usuarios en memoria para el sistema de inventario.
- * En un entorno de producción, esto se conectaría a una base de datos.
+ * Los usuarios se cargan una sola vez con sus contraseñas ya cifradas con BCrypt,
+ * de modo que una búsqueda no calcula ningún hash. En un entorno de producción,
+ * esto se conectaría a una base de datos.
  * 
  * @author Sistema de Inventario
  * @version 1.0.0
@@ -23,37 +25,41 @@ import java.util.List;
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
     
+    /**
+     * Hash BCrypt de la contraseña de los usuarios de prueba ("password")
+     */
+    private static final String DEFAULT_PASSWORD_HASH = "$2a$10$X7nhSbPB/DjHGcP/0HAVg.ksA/zLWJF1yXkk5ipa7H6ITd1x/DCDW";
+    
     private final PasswordEncoder passwordEncoder;
     
+    private final Map<String, UserDetails> users;
+    
     public CustomUserDetailsService(PasswordEncoder passwordEncoder) {
         this.passwordEncoder = passwordEncoder;
+        
+        // Usuarios predefinidos en memoria
+        // En producción, esto se cargaría desde una base de datos
+        this.users = Map.of(
+                "admin", User.withUsername("admin")
+                        .password(DEFAULT_PASSWORD_HASH)
+                        .roles("ADMIN", "USER")
+                        .build(),
+                "user", User.withUsername("user")
+                        .password(DEFAULT_PASSWORD_HASH)
+                        .roles("USER")
+                        .build()
+        );
     }
     
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        
-        // Usuarios predefinidos en memoria
-        // En producción, esto se cargaría desde una base de datos
-        if ("admin".equals(username)) {
-            return User.builder()
-                    .username("admin")
-                    .password(passwordEncoder.encode("password"))
-                    .authorities(Arrays.asList(
-                            new SimpleGrantedAuthority("ROLE_ADMIN"),
-                            new SimpleGrantedAuthority("ROLE_USER")
-                    ))
-                    .build();
-        } else if ("user".equals(username)) {
-            return User.builder()
-                    .username("user")
-                    .password(passwordEncoder.encode("password"))
-                    .authorities(Arrays.asList(
-                            new SimpleGrantedAuthority("ROLE_USER")
-                    ))
-                    .build();
-        } else {
+        UserDetails user = username != null ? users.get(username) : null;
+        if (user == null) {
             throw new UsernameNotFoundException("Usuario no encontrado: " + username);
         }
+        
+        // Devolver una copia: Spring Security borra la contraseña del usuario autenticado
+        return User.withUserDetails(user).build();
     }
     
     /**
@@ -7,8 +7,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -20,7 +18,8 @@ import java.io.IOException;
  * Filtro de autenticación JWT
  * 
  * Este filtro intercepta las peticiones HTTP para validar tokens JWT
- * y establecer la autenticación en el contexto de seguridad.
+ * y establecer la autenticación en el contexto de seguridad. Los roles se
+ * toman del propio token, sin buscar al usuario en cada petición.
  * 
  * @author Sistema de Inventario
  * @version 1.0.0
@@ -31,49 +30,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtTokenUtil jwtTokenUtil;
     
-    @Autowired
-    private UserDetailsService userDetailsService;
-    
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                    FilterChain filterChain) throws ServletException, IOException {
         
         final String requestTokenHeader = request.getHeader("Authorization");
         
-        String username = null;
-        String jwtToken = null;
+        VerifiedToken verifiedToken = null;
         
         // El token JWT está en el formato "Bearer token"
         if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
-            jwtToken = requestTokenHeader.substring(7);
-            try {
-                username = jwtTokenUtil.getUsernameFromToken(jwtToken);
-            } catch (IllegalArgumentException e) {
-                logger.error("No se pudo obtener el token JWT", e);
-            } catch (Exception e) {
-                logger.error("Token JWT inválido", e);
+            // Una sola verificación (firma y expiración) por petición; los tokens ya vistos salen de caché
+            verifiedToken = jwtTokenUtil.verifyToken(requestTokenHeader.substring(7)).orElse(null);
+            if (verifiedToken == null && logger.isDebugEnabled()) {
+                logger.debug("Token JWT inválido o expirado");
             }
-        } else {
-            logger.warn("Token JWT no encontrado o no comienza con 'Bearer '");
         }
+        // Sin cabecera Bearer la petición sigue como anónima: es el caso normal de los endpoints públicos
         
-        // Una vez obtenido el token, validar
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        // Con el token verificado, configurar Spring Security para establecer la autenticación
+        if (verifiedToken != null && SecurityContextHolder.getContext().getAuthentication() == null) {
             
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = 
+                new UsernamePasswordAuthenticationToken(verifiedToken.username(), null, verifiedToken.authorities());
+            usernamePasswordAuthenticationToken
+                .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
             
-            // Si el token es válido, configurar Spring Security para establecer la autenticación
-            if (jwtTokenUtil.validateToken(jwtToken, userDetails.getUsername())) {
-                
-                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = 
-                    new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                usernamePasswordAuthenticationToken
-                    .setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                
-                // Después de configurar la autenticación en el contexto, especificar
-                // que el usuario actual está autenticado
-                SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
-            }
+            // Después de configurar la autenticación en el contexto, especificar
+            // que el usuario actual está autenticado
+            SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
         }
         
         filterChain.doFilter(request, response);
@@ -1,21 +1,41 @@
 package com.example.inventoryapi.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 /**
  * Utilidad para operaciones con tokens JWT
  * 
  * Esta clase maneja la generación, validación y extracción de información
- * de tokens JWT utilizados para autenticación.
+ * de tokens JWT utilizados para autenticación. Los roles del usuario viajan
+ * en el token, por lo que autenticar una petición no requiere buscar al
+ * usuario. La clave de firma y el parser se construyen una sola vez, y los
+ * tokens ya verificados se guardan en una caché acotada (por hash del token)
+ * hasta su expiración, de modo que cada petición autenticada no vuelva a
+ * verificar la firma del mismo token.
  * 
  * @author Sistema de Inventario
  * @version 1.0.0
@@ -23,12 +43,93 @@ import java.util.function.Function;
 @Component
 public class JwtTokenUtil {
     
+    /**
+     * Claim con los roles (authorities) del usuario
+     */
+    public static final String ROLES_CLAIM = "roles";
+    
     @Value("${jwt.secret}")
     private String secret;
     
     @Value("${jwt.expiration}")
     private Long expiration;
     
+    @Value("${jwt.verified-cache.maximum-size:10000}")
+    private long verifiedCacheMaximumSize;
+    
+    private SecretKey signingKey;
+    
+    private JwtParser jwtParser;
+    
+    private Cache<String, VerifiedToken> verifiedTokens;
+    
+    /**
+     * Construye la clave de firma, el parser y la caché de tokens verificados
+     */
+    @PostConstruct
+    public void init() {
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaximumSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), token.expiresAt()).toNanos());
+                    }
+                    
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime,
+                                                  long currentDuration) {
+                        return currentDuration;
+                    }
+                    
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+    
+    /**
+     * Verifica un token JWT analizándolo una sola vez
+     * 
+     * Comprueba la firma y la expiración y devuelve los datos del token. Los
+     * tokens válidos se guardan en caché hasta que expiran; los inválidos no
+     * se guardan.
+     * 
+     * @param token token JWT
+     * @return datos del token verificado, o vacío si el token no es válido o ha expirado
+     */
+    public Optional<VerifiedToken> verifyToken(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        
+        String key = hashToken(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return cached.isExpired(Instant.now()) ? Optional.empty() : Optional.of(cached);
+        }
+        
+        try {
+            Claims claims = getAllClaimsFromToken(token);
+            VerifiedToken verified = new VerifiedToken(
+                    claims.getSubject(), getAuthorities(claims), claims.getExpiration().toInstant());
+            if (verified.username() == null) {
+                return Optional.empty();
+            }
+            verifiedTokens.put(key, verified);
+            return Optional.of(verified);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+    
     /**
      * Extrae el nombre de usuario del token JWT
      * 
@@ -68,32 +169,37 @@ public class JwtTokenUtil {
      * @return todas las claims
      */
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
     }
     
     /**
-     * Verifica si el token JWT ha expirado
+     * Obtiene los roles incluidos en las claims de un token
      * 
-     * @param token token JWT
-     * @return true si ha expirado, false en caso contrario
+     * @param claims claims del token
+     * @return roles del usuario, o lista vacía si el token no los incluye
      */
-    private Boolean isTokenExpired(String token) {
-        final Date expiration = getExpirationDateFromToken(token);
-        return expiration.before(new Date());
+    private List<GrantedAuthority> getAuthorities(Claims claims) {
+        Object roles = claims.get(ROLES_CLAIM);
+        if (!(roles instanceof Collection<?> values)) {
+            return List.of();
+        }
+        return values.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(String.valueOf(role)))
+                .toList();
     }
     
     /**
      * Genera un nuevo token JWT para el usuario
      * 
      * @param username nombre de usuario
+     * @param authorities roles del usuario, que se incluyen en el token
      * @return token JWT generado
      */
-    public String generateToken(String username) {
+    public String generateToken(String username, Collection<? extends GrantedAuthority> authorities) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put(ROLES_CLAIM, authorities.stream()
+                .map(GrantedAuthority::getAuthority)
+                .toList());
         return createToken(claims, username);
     }
     
@@ -110,7 +216,7 @@ public class JwtTokenUtil {
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
     
@@ -122,12 +228,9 @@ public class JwtTokenUtil {
      * @return true si el token es válido, false en caso contrario
      */
     public Boolean validateToken(String token, String username) {
-        try {
-            final String tokenUsername = getUsernameFromToken(token);
-            return (tokenUsername.equals(username) && !isTokenExpired(token));
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return verifyToken(token)
+                .map(verified -> verified.username().equals(username))
+                .orElse(false);
     }
     
     /**
@@ -137,22 +240,25 @@ public class JwtTokenUtil {
      * @return true si el token es válido, false en caso contrario
      */
     public Boolean validateToken(String token) {
-        try {
-            getAllClaimsFromToken(token);
-            return !isTokenExpired(token);
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return verifyToken(token).isPresent();
     }
     
     /**
-     * Obtiene la clave de firma para los tokens JWT
+     * Calcula la clave de caché de un token
      * 
-     * @return clave de firma
+     * Se usa un hash criptográfico para no retener los tokens en memoria y
+     * para que no se puedan provocar colisiones con tokens falsificados.
+     * 
+     * @param token token JWT
+     * @return hash SHA-256 del token en Base64
      */
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+    private String hashToken(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
     }
     
     /**
@@ -0,0 +1,87 @@
+package com.example.inventoryapi.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Limitador de intentos de login por cliente (token bucket)
+ *
+ * Cada cliente dispone de un cubo con capacidad para una ráfaga de intentos
+ * que se rellena a ritmo constante. Cuando el cubo está vacío el intento se
+ * rechaza sin llegar a calcular ningún hash, de modo que un cliente abusivo
+ * no puede consumir la CPU del nodo.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@Component
+public class LoginRateLimiter {
+
+    /**
+     * Cubo de tokens de un cliente
+     */
+    private static final class TokenBucket {
+
+        private double tokens;
+
+        private long lastRefillNanos;
+
+        TokenBucket(double capacity, long now) {
+            this.tokens = capacity;
+            this.lastRefillNanos = now;
+        }
+    }
+
+    private final Cache<String, TokenBucket> buckets;
+
+    private final boolean enabled;
+
+    private final double capacity;
+
+    private final double tokensPerNano;
+
+    public LoginRateLimiter(@Value("${inventory.auth.rate-limit.enabled:true}") boolean enabled,
+                            @Value("${inventory.auth.rate-limit.capacity:10}") int capacity,
+                            @Value("${inventory.auth.rate-limit.refill-period:6s}") Duration refillPeriod,
+                            @Value("${inventory.auth.rate-limit.maximum-clients:100000}") long maximumClients) {
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.tokensPerNano = 1.0 / refillPeriod.toNanos();
+        // Un cubo que lleva sin usarse lo suficiente para llenarse equivale a uno nuevo
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumClients)
+                .expireAfterAccess(refillPeriod.multipliedBy(capacity))
+                .build();
+    }
+
+    /**
+     * Consume un intento del cliente si le quedan
+     *
+     * @param clientId identificador del cliente (dirección IP)
+     * @return 0 si se permite el intento; si no, segundos hasta el siguiente intento disponible
+     */
+    public long tryAcquire(String clientId) {
+        if (!enabled) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        TokenBucket bucket = buckets.get(clientId, key -> new TokenBucket(capacity, now));
+        synchronized (bucket) {
+            long elapsed = now - bucket.lastRefillNanos;
+            if (elapsed > 0) {
+                bucket.tokens = Math.min(capacity, bucket.tokens + elapsed * tokensPerNano);
+                bucket.lastRefillNanos = now;
+            }
+            if (bucket.tokens >= 1) {
+                bucket.tokens -= 1;
+                return 0;
+            }
+            double missingNanos = (1 - bucket.tokens) / tokensPerNano;
+            return Math.max(1, (long) Math.ceil(missingNanos / 1_000_000_000));
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.inventoryapi.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Datos de un token JWT cuya firma y expiración ya fueron verificadas
+ * 
+ * Es inmutable, de modo que puede compartirse entre peticiones desde la
+ * caché de tokens verificados de JwtTokenUtil.
+ * 
+ * @param username usuario (subject) del token
+ * @param authorities roles del usuario incluidos en el token
+ * @param expiresAt instante de expiración del token
+ * 
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+public record VerifiedToken(String username, List<GrantedAuthority> authorities, Instant expiresAt) {
+
+    public VerifiedToken {
+        authorities = List.copyOf(authorities);
+    }
+
+    /**
+     * @param now instante de referencia
+     * @return true si el token ha expirado en ese instante
+     */
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package com.example.inventoryapi.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Registro de productos eliminados con la última versión que tuvieron
+ *
+ * Las copias en memoria que se mantienen con los cambios confirmados pueden
+ * recibir, después del borrado de un producto, el cambio tardío de una
+ * transacción concurrente que se confirmó antes. Sin este registro ese cambio
+ * volvería a insertar el producto una vez eliminada su fila. Los IDs no se
+ * reutilizan, así que cualquier cambio con una versión no posterior a la del
+ * borrado es antiguo y se descarta.
+ *
+ * Un cambio solo llega tarde mientras siguen confirmándose las transacciones
+ * concurrentes con el borrado, por lo que basta con recordar los borrados más
+ * recientes: al superar la capacidad se olvidan los más antiguos.
+ *
+ * No es seguro para uso concurrente; quien lo usa debe protegerlo con su
+ * propio cerrojo.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+final class DeletedProductVersions {
+
+    private final Map<Long, Long> versions;
+
+    DeletedProductVersions(int capacity) {
+        this.versions = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Registra el borrado de un producto
+     *
+     * @param id ID del producto
+     * @param version versión del producto al eliminarse (null si se desconoce)
+     */
+    void record(long id, Long version) {
+        versions.merge(id, version != null ? version : Long.MAX_VALUE, Math::max);
+    }
+
+    /**
+     * @param id ID del producto
+     * @param version versión del cambio recibido (null si se desconoce)
+     * @return true si el producto se eliminó en esa versión o en una posterior
+     */
+    boolean isDeleted(long id, Long version) {
+        Long deletedVersion = versions.get(id);
+        return deletedVersion != null && (version == null || version <= deletedVersion);
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.inventoryapi.service;
+
+import com.example.inventoryapi.dto.ProductResponseDto;
+import com.example.inventoryapi.event.ProductChangedEvent;
+import com.example.inventoryapi.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Agregado de estadísticas del inventario mantenido incrementalmente
+ *
+ * Mantiene el número de productos, el valor total y el número de productos
+ * en stock aplicando deltas tras cada cambio confirmado, de forma que las
+ * consultas de estadísticas se resuelven en O(1) sin recorrer la tabla.
+ * El agregado se calcula desde la tabla al arrancar y puede recalcularse
+ * para detectar desviaciones; el recálculo espera a que los cambios ya
+ * confirmados se apliquen y retiene los nuevos commits mientras lee la tabla.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@Component
+public class InventoryStatsAggregate {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryStatsAggregate.class);
+
+    /**
+     * Instantánea inmutable de las estadísticas
+     *
+     * @param totalProducts número total de productos
+     * @param totalValue valor total del inventario (precio x cantidad)
+     * @param inStockProducts número de productos con cantidad mayor a 0
+     */
+    public record Snapshot(long totalProducts, BigDecimal totalValue, long inStockProducts) {
+
+        static final Snapshot EMPTY = new Snapshot(0, BigDecimal.ZERO, 0);
+
+        Snapshot plus(ProductResponseDto product, int sign) {
+            BigDecimal value = product.getPrice().multiply(BigDecimal.valueOf(product.getQuantity()));
+            return new Snapshot(
+                    totalProducts + sign,
+                    sign > 0 ? totalValue.add(value) : totalValue.subtract(value),
+                    inStockProducts + (product.getQuantity() > 0 ? sign : 0));
+        }
+
+        Snapshot minus(Snapshot other) {
+            return new Snapshot(
+                    totalProducts - other.totalProducts,
+                    totalValue.subtract(other.totalValue),
+                    inStockProducts - other.inStockProducts);
+        }
+    }
+
+    private final ProductRepository productRepository;
+
+    private final TransactionTemplate readOnlyTransaction;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+
+    /**
+     * Compartido por cada cambio desde antes de su commit hasta después de
+     * aplicar su delta; exclusivo durante el recálculo
+     */
+    private final ReentrantReadWriteLock applyLock = new ReentrantReadWriteLock();
+
+    @Autowired
+    public InventoryStatsAggregate(ProductRepository productRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Obtiene las estadísticas actuales
+     *
+     * @return instantánea de las estadísticas
+     */
+    public Snapshot getSnapshot() {
+        return snapshot.get();
+    }
+
+    /**
+     * Retiene el commit de un cambio de producto mientras se recalcula el agregado
+     *
+     * El cerrojo se libera al terminar la transacción, después de aplicar el
+     * delta, de modo que el recálculo nunca lee un commit cuyo delta aún no se
+     * ha aplicado ni aplica después un delta que ya incluía la tabla.
+     *
+     * @param event evento de cambio de producto
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void beforeProductChangeCommit(ProductChangedEvent event) {
+        applyLock.readLock().lock();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return Ordered.LOWEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                applyLock.readLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Aplica el delta de un cambio de producto confirmado
+     *
+     * @param event evento de cambio de producto
+     */
+    @TransactionalEventListener
+    @Order(ProductChangedEvent.APPLY_ORDER)
+    public void onProductChanged(ProductChangedEvent event) {
+        snapshot.updateAndGet(current -> {
+            Snapshot updated = current;
+            if (event.getPrevious() != null) {
+                updated = updated.plus(event.getPrevious(), -1);
+            }
+            if (event.getCurrent() != null) {
+                updated = updated.plus(event.getCurrent(), 1);
+            }
+            return updated;
+        });
+    }
+
+    /**
+     * Recalcula el agregado desde la tabla de productos
+     *
+     * La conexión se obtiene al iniciar la transacción, antes del cerrojo, para
+     * no esperar por ella mientras los commits retenidos ocupan el pool.
+     *
+     * @return diferencia entre el agregado mantenido y el recalculado
+     */
+    @Transactional(readOnly = true)
+    public Snapshot recompute() {
+        applyLock.writeLock().lock();
+        try {
+            Snapshot recomputed = computeFromTable();
+            Snapshot drift = snapshot.getAndSet(recomputed).minus(recomputed);
+            if (drift.totalProducts() != 0 || drift.totalValue().signum() != 0 || drift.inStockProducts() != 0) {
+                logger.warn("Desviación detectada en estadísticas del inventario: {}", drift);
+            }
+            return drift;
+        } finally {
+            applyLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Inicializa el agregado desde la tabla al arrancar la aplicación
+     *
+     * Como en el recálculo, las tres consultas se hacen en una sola transacción
+     * de solo lectura y con el cerrojo exclusivo, para que un cambio confirmado
+     * entre ellas no quede contado a medias ni se aplique dos veces.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        readOnlyTransaction.executeWithoutResult(status -> {
+            applyLock.writeLock().lock();
+            try {
+                snapshot.set(computeFromTable());
+            } finally {
+                applyLock.writeLock().unlock();
+            }
+        });
+        logger.info("Estadísticas del inventario inicializadas: {}", snapshot.get());
+    }
+
+    /**
+     * Calcula las estadísticas recorriendo la tabla de productos
+     *
+     * @return estadísticas calculadas
+     */
+    private Snapshot computeFromTable() {
+        BigDecimal totalValue = productRepository.calculateTotalInventoryValue();
+        return new Snapshot(
+                productRepository.countTotalProducts(),
+                totalValue != null ? totalValue : BigDecimal.ZERO,
+                productRepository.countProductsInStock());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,192 @@
+package com.example.inventoryapi.service;
+
+import com.example.inventoryapi.dto.ProductChangeDto;
+import com.example.inventoryapi.dto.ProductChangesDto;
+import com.example.inventoryapi.dto.ProductResponseDto;
+import com.example.inventoryapi.event.ProductChangedEvent;
+import com.example.inventoryapi.exception.ChangeLogExpiredException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Historial de cambios de productos con secuencia creciente
+ *
+ * Cada alta, modificación o borrado confirmado se añade con el siguiente
+ * número de secuencia a un buffer circular en memoria, de modo que los
+ * consumidores pueden pedir solo los cambios posteriores a la última
+ * secuencia que procesaron, esperar a que llegue alguno (long-poll) o
+ * recibirlos en streaming, en lugar de releer el catálogo completo.
+ *
+ * La secuencia empieza en el instante de arranque en microsegundos, por lo
+ * que sigue creciendo entre reinicios: un cursor de una ejecución anterior
+ * queda siempre por debajo del historial conservado y se rechaza como
+ * caducado, igual que uno que el buffer ya ha descartado.
+ *
+ * La secuencia refleja el orden en que se notifican las confirmaciones, que
+ * con transacciones concurrentes sobre el mismo producto puede no ser el de
+ * confirmación. Por eso cada entrada lleva la versión del producto, también
+ * en los borrados: el consumidor aplica un cambio solo si su versión es
+ * mayor que la que tiene guardada (o si aún no tiene el producto), y tras un
+ * borrado descarta cualquier cambio posterior del mismo ID, que no se
+ * reutiliza.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@Component
+public class ProductChangeLog {
+
+    private final ProductChangeDto[] entries;
+
+    private final long firstSequence;
+
+    private final int maxPageLimit;
+
+    private final Duration maxWait;
+
+    /**
+     * Última secuencia asignada, emitida a los consumidores en espera.
+     * Las emisiones se hacen con el monitor del historial, por lo que están serializadas.
+     */
+    private final Sinks.Many<Long> sequences = Sinks.many().replay().latest();
+
+    private long lastSequence;
+
+    public ProductChangeLog(@Value("${inventory.change-log.capacity:100000}") int capacity,
+                            @Value("${inventory.change-log.max-wait:25s}") Duration maxWait,
+                            @Value("${inventory.pagination.max-limit:1000}") int maxPageLimit) {
+        this.entries = new ProductChangeDto[capacity];
+        this.maxWait = maxWait;
+        this.maxPageLimit = maxPageLimit;
+        this.firstSequence = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        this.lastSequence = firstSequence;
+        sequences.tryEmitNext(lastSequence);
+    }
+
+    /**
+     * Registra un cambio de producto confirmado
+     *
+     * @param event evento de cambio de producto
+     */
+    @TransactionalEventListener
+    @Order(ProductChangedEvent.NOTIFY_ORDER)
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        long sequence = ++lastSequence;
+        ProductResponseDto state = event.getCurrent() != null ? event.getCurrent() : event.getPrevious();
+        entries[(int) (sequence % entries.length)] = new ProductChangeDto(sequence, event.getType(),
+                event.getProductId(), state.getVersion(), event.getCurrent(), LocalDateTime.now());
+        sequences.tryEmitNext(sequence);
+    }
+
+    /**
+     * @return secuencia del último cambio registrado
+     */
+    public synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * Obtiene los cambios posteriores a una secuencia
+     *
+     * @param since última secuencia procesada por el consumidor
+     * @param limit número máximo de cambios
+     * @return cambios en orden de secuencia
+     * @throws IllegalArgumentException si el límite es inválido o la secuencia es futura
+     * @throws ChangeLogExpiredException si los cambios posteriores a la secuencia ya no se conservan
+     */
+    public ProductChangesDto getChanges(long since, int limit) {
+        if (limit < 1 || limit > maxPageLimit) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + maxPageLimit);
+        }
+        return read(since, limit);
+    }
+
+    /**
+     * Obtiene los cambios posteriores a una secuencia, esperando a que haya alguno
+     *
+     * @param since última secuencia procesada por el consumidor
+     * @param limit número máximo de cambios
+     * @param wait tiempo máximo de espera si no hay cambios (cero para no esperar)
+     * @return cambios en orden de secuencia; vacío si vence la espera sin cambios
+     * @throws IllegalArgumentException si el límite, la espera o la secuencia son inválidos
+     * @throws ChangeLogExpiredException si los cambios posteriores a la secuencia ya no se conservan
+     */
+    public Mono<ProductChangesDto> awaitChanges(long since, int limit, Duration wait) {
+        if (wait.isNegative() || wait.compareTo(maxWait) > 0) {
+            throw new IllegalArgumentException("La espera debe estar entre 0 y " + maxWait.toSeconds() + " segundos");
+        }
+        ProductChangesDto page = getChanges(since, limit);
+        if (!page.getChanges().isEmpty() || wait.isZero()) {
+            return Mono.just(page);
+        }
+        return sequences.asFlux()
+                .filter(sequence -> sequence > since)
+                .next()
+                .timeout(wait, Mono.just(since))
+                .map(sequence -> getChanges(since, limit));
+    }
+
+    /**
+     * Emite los cambios posteriores a una secuencia y los que se confirmen después
+     *
+     * Los cambios se leen del historial en un hilo de Schedulers.boundedElastic
+     * al ritmo que marca el consumidor; si este se retrasa más de lo que
+     * conserva el historial, el flujo termina con ChangeLogExpiredException.
+     *
+     * @param since última secuencia procesada por el consumidor
+     * @return flujo infinito de cambios en orden de secuencia
+     * @throws IllegalArgumentException si la secuencia es futura
+     * @throws ChangeLogExpiredException si los cambios posteriores a la secuencia ya no se conservan
+     */
+    public Flux<ProductChangeDto> streamChanges(long since) {
+        read(since, 0);
+        return Flux.defer(() -> {
+            AtomicLong cursor = new AtomicLong(since);
+            return sequences.asFlux()
+                    .onBackpressureLatest()
+                    .publishOn(Schedulers.boundedElastic(), 1)
+                    .concatMap(sequence -> Flux.<List<ProductChangeDto>>generate(sink -> {
+                        ProductChangesDto page = read(cursor.get(), maxPageLimit);
+                        if (!page.getChanges().isEmpty()) {
+                            cursor.set(page.getLastSequence());
+                            sink.next(page.getChanges());
+                        }
+                        if (!page.isHasMore()) {
+                            sink.complete();
+                        }
+                    }), 1)
+                    .concatMapIterable(changes -> changes);
+        });
+    }
+
+    private synchronized ProductChangesDto read(long since, int limit) {
+        long oldestRetained = Math.max(firstSequence, lastSequence - entries.length);
+        if (since < oldestRetained) {
+            throw new ChangeLogExpiredException("Los cambios posteriores a la secuencia " + since
+                    + " ya no están disponibles; sincronice el catálogo completo y continúe desde la secuencia "
+                    + lastSequence);
+        }
+        if (since > lastSequence) {
+            throw new IllegalArgumentException("La secuencia " + since + " es posterior al último cambio registrado");
+        }
+        int count = (int) Math.min(limit, lastSequence - since);
+        List<ProductChangeDto> changes = new ArrayList<>(count);
+        for (long sequence = since + 1; sequence <= since + count; sequence++) {
+            changes.add(entries[(int) (sequence % entries.length)]);
+        }
+        return new ProductChangesDto(changes, since + count, since + count < lastSequence);
+    }
+}
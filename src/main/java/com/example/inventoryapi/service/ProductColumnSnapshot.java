@@ -0,0 +1,460 @@
+package com.example.inventoryapi.service;
+
+import com.example.inventoryapi.dto.ProductResponseDto;
+import com.example.inventoryapi.event.ProductChangedEvent;
+import com.example.inventoryapi.model.Product;
+import com.example.inventoryapi.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Copia en memoria del catálogo organizada por columnas
+ *
+ * Cada atributo de producto se guarda en un array propio ordenado por ID:
+ * el precio en céntimos como long y la cantidad como int, de modo que los
+ * filtros por rango de precio y por umbral de stock se resuelven con bucles
+ * sobre arrays primitivos, sin consultar la base de datos ni materializar
+ * una entidad por fila. Solo las filas seleccionadas se convierten en DTO.
+ *
+ * La copia se construye al arrancar (o en segundo plano si
+ * inventory.snapshot.async-build está activo) y se mantiene con los cambios
+ * confirmados; mientras no está lista, las consultas usan la base de datos.
+ * Los productos eliminados se marcan y sus huecos se compactan cuando
+ * superan una cuarta parte de las filas; sus IDs se recuerdan aparte para
+ * que un cambio tardío no los vuelva a insertar tras la compactación.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@Component
+public class ProductColumnSnapshot implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductColumnSnapshot.class);
+
+    private static final int PRICE_SCALE = 2;
+
+    private static final long DELETED = -1;
+
+    private static final BigDecimal MAX_CENTS = BigDecimal.valueOf(Long.MAX_VALUE);
+
+    private static final BigDecimal MIN_CENTS = BigDecimal.valueOf(Long.MIN_VALUE);
+
+    private static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ProductRepository productRepository;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Cambios recibidos durante la construcción, aplicados al terminarla
+     */
+    private final List<ProductChangedEvent> pendingEvents = new ArrayList<>();
+
+    private final DeletedProductVersions deletedVersions;
+
+    // Columnas, válidas hasta size; una versión DELETED marca una fila eliminada
+    private long[] ids = new long[INITIAL_CAPACITY];
+
+    private long[] priceCents = new long[INITIAL_CAPACITY];
+
+    private int[] quantities = new int[INITIAL_CAPACITY];
+
+    private long[] versions = new long[INITIAL_CAPACITY];
+
+    private long[] createdAt = new long[INITIAL_CAPACITY];
+
+    private long[] updatedAt = new long[INITIAL_CAPACITY];
+
+    private String[] names = new String[INITIAL_CAPACITY];
+
+    private String[] descriptions = new String[INITIAL_CAPACITY];
+
+    private int size;
+
+    private int deleted;
+
+    private volatile boolean ready;
+
+    @Value("${inventory.snapshot.enabled:true}")
+    private boolean enabled;
+
+    @Value("${inventory.snapshot.async-build:false}")
+    private boolean asyncBuild;
+
+    @Autowired
+    public ProductColumnSnapshot(ProductRepository productRepository, EntityManager entityManager,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${inventory.snapshot.max-tombstones:100000}") int maxTombstones) {
+        this.productRepository = productRepository;
+        this.deletedVersions = new DeletedProductVersions(maxTombstones);
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Construye la copia recorriendo el catálogo antes de que el servidor acepte peticiones,
+     * o en un hilo aparte para no retrasar el arranque con catálogos grandes
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            return;
+        }
+        if (!asyncBuild) {
+            build();
+            return;
+        }
+        Thread builder = new Thread(() -> {
+            try {
+                build();
+            } catch (RuntimeException ex) {
+                logger.error("No se pudo construir la copia en columnas del catálogo", ex);
+            }
+        }, "product-snapshot-build");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    private void build() {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Product> products = productRepository.streamAllOrderedById()) {
+                lock.writeLock().lock();
+                try {
+                    products.forEach(product -> {
+                        append(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                                product.getQuantity(), product.getCreatedAt(), product.getUpdatedAt(),
+                                product.getVersion());
+                        entityManager.detach(product);
+                    });
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        });
+
+        // Los cambios confirmados durante el recorrido se aplican después; la versión
+        // descarta los que la fila leída ya incluía
+        synchronized (pendingEvents) {
+            pendingEvents.forEach(this::apply);
+            pendingEvents.clear();
+            ready = true;
+        }
+        logger.info("Copia en columnas del catálogo construida: {} productos en {} ms",
+                size, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * @return true si la copia está construida y puede responder consultas
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Mantiene la copia sincronizada con los cambios confirmados de productos
+     *
+     * @param event evento de cambio de producto
+     */
+    @TransactionalEventListener
+    @Order(ProductChangedEvent.APPLY_ORDER)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!ready) {
+            synchronized (pendingEvents) {
+                if (!ready) {
+                    pendingEvents.add(event);
+                    return;
+                }
+            }
+        }
+        apply(event);
+    }
+
+    private void apply(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.getCurrent() == null) {
+                remove(event.getPrevious());
+            } else {
+                upsert(event.getCurrent());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Productos con precio dentro de un rango (ambos extremos incluidos)
+     *
+     * @param minPrice precio mínimo
+     * @param maxPrice precio máximo
+     * @return productos en orden de ID
+     */
+    public List<ProductResponseDto> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        long min = toCents(minPrice, RoundingMode.CEILING);
+        long max = toCents(maxPrice, RoundingMode.FLOOR);
+        lock.readLock().lock();
+        try {
+            int[] slots = new int[INITIAL_CAPACITY];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                long price = priceCents[i];
+                if (price >= min && price <= max && versions[i] != DELETED) {
+                    if (count == slots.length) {
+                        slots = Arrays.copyOf(slots, count * 2);
+                    }
+                    slots[count++] = i;
+                }
+            }
+            return materialize(slots, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Productos con cantidad menor o igual a un umbral
+     *
+     * @param threshold umbral de stock
+     * @return productos en orden de ID
+     */
+    public List<ProductResponseDto> findByQuantityAtMost(int threshold) {
+        return findByQuantityBetween(Integer.MIN_VALUE, threshold);
+    }
+
+    /**
+     * Productos con cantidad mayor a 0
+     *
+     * @return productos en orden de ID
+     */
+    public List<ProductResponseDto> findInStock() {
+        return findByQuantityBetween(1, Integer.MAX_VALUE);
+    }
+
+    private List<ProductResponseDto> findByQuantityBetween(int min, int max) {
+        lock.readLock().lock();
+        try {
+            int[] slots = new int[INITIAL_CAPACITY];
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                int quantity = quantities[i];
+                if (quantity >= min && quantity <= max && versions[i] != DELETED) {
+                    if (count == slots.length) {
+                        slots = Arrays.copyOf(slots, count * 2);
+                    }
+                    slots[count++] = i;
+                }
+            }
+            return materialize(slots, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Convierte las filas seleccionadas en DTO; requiere el cerrojo de lectura
+     */
+    private List<ProductResponseDto> materialize(int[] slots, int count) {
+        List<ProductResponseDto> products = new ArrayList<>(count);
+        for (int j = 0; j < count; j++) {
+            int i = slots[j];
+            products.add(new ProductResponseDto(
+                    ids[i],
+                    names[i],
+                    descriptions[i],
+                    BigDecimal.valueOf(priceCents[i], PRICE_SCALE),
+                    quantities[i],
+                    fromMicros(createdAt[i]),
+                    fromMicros(updatedAt[i]),
+                    versions[i]));
+        }
+        return products;
+    }
+
+    /**
+     * Inserta o actualiza un producto; requiere el cerrojo de escritura
+     */
+    private void upsert(ProductResponseDto product) {
+        // Los eventos de transacciones concurrentes pueden llegar desordenados,
+        // incluso después del borrado del producto y de la compactación de su fila
+        if (deletedVersions.isDeleted(product.getId(), product.getVersion())) {
+            return;
+        }
+        // Los IDs crecen, así que un alta casi siempre se añade al final
+        if (size == 0 || ids[size - 1] < product.getId()) {
+            append(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                    product.getQuantity(), product.getCreatedAt(), product.getUpdatedAt(), product.getVersion());
+            return;
+        }
+        int slot = Arrays.binarySearch(ids, 0, size, product.getId());
+        if (slot < 0) {
+            slot = insertSlot(-slot - 1);
+        } else if (versions[slot] == DELETED
+                || (product.getVersion() != null && versions[slot] > product.getVersion())) {
+            return;
+        }
+        set(slot, product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                product.getQuantity(), product.getCreatedAt(), product.getUpdatedAt(), product.getVersion());
+    }
+
+    /**
+     * Marca un producto como eliminado; requiere el cerrojo de escritura
+     */
+    private void remove(ProductResponseDto product) {
+        long id = product.getId();
+        deletedVersions.record(id, product.getVersion());
+        int slot = Arrays.binarySearch(ids, 0, size, id);
+        if (slot < 0 || versions[slot] == DELETED) {
+            return;
+        }
+        versions[slot] = DELETED;
+        names[slot] = null;
+        descriptions[slot] = null;
+        deleted++;
+        if (deleted > size / 4) {
+            compact();
+        }
+    }
+
+    private void append(long id, String name, String description, BigDecimal price, Integer quantity,
+                        LocalDateTime created, LocalDateTime updated, Long version) {
+        ensureCapacity(size + 1);
+        set(size++, id, name, description, price, quantity, created, updated, version);
+    }
+
+    private void set(int slot, long id, String name, String description, BigDecimal price, Integer quantity,
+                     LocalDateTime created, LocalDateTime updated, Long version) {
+        ids[slot] = id;
+        names[slot] = name;
+        descriptions[slot] = description;
+        priceCents[slot] = toCents(price, RoundingMode.HALF_UP);
+        quantities[slot] = quantity;
+        createdAt[slot] = toMicros(created);
+        updatedAt[slot] = toMicros(updated);
+        versions[slot] = version != null ? version : 0;
+    }
+
+    /**
+     * Abre un hueco en una posición desplazando las filas siguientes
+     *
+     * @return la posición del hueco
+     */
+    private int insertSlot(int slot) {
+        ensureCapacity(size + 1);
+        int moved = size - slot;
+        System.arraycopy(ids, slot, ids, slot + 1, moved);
+        System.arraycopy(priceCents, slot, priceCents, slot + 1, moved);
+        System.arraycopy(quantities, slot, quantities, slot + 1, moved);
+        System.arraycopy(versions, slot, versions, slot + 1, moved);
+        System.arraycopy(createdAt, slot, createdAt, slot + 1, moved);
+        System.arraycopy(updatedAt, slot, updatedAt, slot + 1, moved);
+        System.arraycopy(names, slot, names, slot + 1, moved);
+        System.arraycopy(descriptions, slot, descriptions, slot + 1, moved);
+        size++;
+        return slot;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= ids.length) {
+            return;
+        }
+        int grown = Math.max(capacity, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, grown);
+        priceCents = Arrays.copyOf(priceCents, grown);
+        quantities = Arrays.copyOf(quantities, grown);
+        versions = Arrays.copyOf(versions, grown);
+        createdAt = Arrays.copyOf(createdAt, grown);
+        updatedAt = Arrays.copyOf(updatedAt, grown);
+        names = Arrays.copyOf(names, grown);
+        descriptions = Arrays.copyOf(descriptions, grown);
+    }
+
+    /**
+     * Elimina los huecos de las filas borradas conservando el orden por ID
+     */
+    private void compact() {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (versions[i] == DELETED) {
+                continue;
+            }
+            if (kept != i) {
+                ids[kept] = ids[i];
+                priceCents[kept] = priceCents[i];
+                quantities[kept] = quantities[i];
+                versions[kept] = versions[i];
+                createdAt[kept] = createdAt[i];
+                updatedAt[kept] = updatedAt[i];
+                names[kept] = names[i];
+                descriptions[kept] = descriptions[i];
+            }
+            kept++;
+        }
+        Arrays.fill(names, kept, size, null);
+        Arrays.fill(descriptions, kept, size, null);
+        size = kept;
+        deleted = 0;
+    }
+
+    /**
+     * Convierte un precio a céntimos, saturando los valores fuera del rango de long
+     */
+    private static long toCents(BigDecimal price, RoundingMode roundingMode) {
+        BigDecimal cents = price.setScale(PRICE_SCALE, roundingMode).movePointRight(PRICE_SCALE);
+        if (cents.compareTo(MAX_CENTS) > 0) {
+            return Long.MAX_VALUE;
+        }
+        if (cents.compareTo(MIN_CENTS) < 0) {
+            return Long.MIN_VALUE;
+        }
+        return cents.longValueExact();
+    }
+
+    /**
+     * Codifica una fecha redondeada a microsegundos, como la guarda la columna TIMESTAMP
+     */
+    private static long toMicros(LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return NO_TIMESTAMP;
+        }
+        return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), dateTime.plusNanos(500));
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        if (micros == NO_TIMESTAMP) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,512 @@
+package com.example.inventoryapi.service;
+
+import com.example.inventoryapi.dto.ProductResponseDto;
+import com.example.inventoryapi.event.ProductChangedEvent;
+import com.example.inventoryapi.exception.SearchIndexUnavailableException;
+import com.example.inventoryapi.model.Product;
+import com.example.inventoryapi.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Índice invertido en memoria para la búsqueda de productos
+ *
+ * Indexa el nombre y la descripción de cada producto por prefijos de sus
+ * palabras (normalizadas a minúsculas y sin acentos), de modo que una
+ * búsqueda se resuelve con búsquedas en mapas en lugar de un LIKE '%x%'
+ * que recorre toda la tabla. Cada prefijo guarda los IDs de sus productos
+ * como un array ordenado de long, y los de la descripción se limitan a
+ * prefijos más cortos que los del nombre para acotar la memoria. El índice
+ * se construye antes de aceptar peticiones (o en segundo plano si
+ * inventory.search.async-build está activo) y se mantiene sincronizado con
+ * los cambios confirmados, descartando los que llegan con una versión
+ * anterior a la indexada o después del borrado del producto.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@Component
+public class ProductSearchIndex implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private static final String[] NO_TOKENS = new String[0];
+
+    private static final long[] NO_IDS = new long[0];
+
+    /**
+     * Palabras indexadas de un producto y la versión de la que proceden
+     */
+    private record Document(String[] nameTokens, String[] descriptionTokens, long version) {
+
+        boolean hasSameTokens(Document other) {
+            return Arrays.equals(nameTokens, other.nameTokens)
+                    && Arrays.equals(descriptionTokens, other.descriptionTokens);
+        }
+    }
+
+    /**
+     * IDs de los productos de un prefijo, ordenados y sin repetir
+     *
+     * Los IDs nuevos son mayores que los existentes, por lo que añadirlos
+     * suele consistir en escribir al final del array.
+     */
+    private static final class PostingList {
+
+        private long[] ids = new long[4];
+
+        private int size;
+
+        synchronized void add(long id) {
+            int position = size > 0 && ids[size - 1] < id ? -(size + 1) : Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            int insertion = -(position + 1);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size + (size >> 1) + 1);
+            }
+            System.arraycopy(ids, insertion, ids, insertion + 1, size - insertion);
+            ids[insertion] = id;
+            size++;
+        }
+
+        /**
+         * @return true si la lista queda vacía
+         */
+        synchronized boolean remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+                size--;
+            }
+            return size == 0;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+
+    /**
+     * Resultado de búsqueda con su puntuación de relevancia
+     */
+    private record ScoredId(long id, int score) {
+
+        /**
+         * Orden de relevancia: mayor puntuación primero y, a igual puntuación, menor ID
+         */
+        static final Comparator<ScoredId> BEST_FIRST =
+                Comparator.comparingInt(ScoredId::score).reversed().thenComparingLong(ScoredId::id);
+    }
+
+    private final ProductRepository productRepository;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<String, PostingList> namePostings = new ConcurrentHashMap<>();
+
+    private final Map<String, PostingList> descriptionPostings = new ConcurrentHashMap<>();
+
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+
+    /**
+     * Cambios recibidos durante la construcción, aplicados al terminarla
+     */
+    private final List<ProductChangedEvent> pendingEvents = new ArrayList<>();
+
+    /**
+     * Productos eliminados, protegido por el monitor de apply
+     */
+    private final DeletedProductVersions deletedVersions;
+
+    private volatile boolean ready;
+
+    @Value("${inventory.search.min-prefix-length:2}")
+    private int minPrefixLength;
+
+    @Value("${inventory.search.max-prefix-length:15}")
+    private int maxPrefixLength;
+
+    @Value("${inventory.search.max-description-prefix-length:6}")
+    private int maxDescriptionPrefixLength;
+
+    @Value("${inventory.search.async-build:false}")
+    private boolean asyncBuild;
+
+    @Autowired
+    public ProductSearchIndex(ProductRepository productRepository, EntityManager entityManager,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${inventory.search.max-tombstones:100000}") int maxTombstones) {
+        this.productRepository = productRepository;
+        this.deletedVersions = new DeletedProductVersions(maxTombstones);
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    /**
+     * Construye el índice recorriendo el catálogo antes de que el servidor acepte peticiones,
+     * o en un hilo aparte para no retrasar el arranque con catálogos grandes
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!asyncBuild) {
+            build();
+            return;
+        }
+        Thread builder = new Thread(() -> {
+            try {
+                build();
+            } catch (RuntimeException ex) {
+                logger.error("No se pudo construir el índice de búsqueda", ex);
+            }
+        }, "search-index-build");
+        builder.setDaemon(true);
+        builder.start();
+    }
+
+    private void build() {
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Product> products = productRepository.streamAllOrderedById()) {
+                products.forEach(product -> {
+                    index(product.getId(), product.getName(), product.getDescription(), product.getVersion());
+                    entityManager.detach(product);
+                });
+            }
+        });
+
+        // Los cambios confirmados durante el recorrido se aplican después; los que
+        // la fila leída ya incluía se descartan por su versión
+        synchronized (pendingEvents) {
+            pendingEvents.forEach(this::apply);
+            pendingEvents.clear();
+            ready = true;
+        }
+        logger.info("Índice de búsqueda construido: {} productos, {} términos en {} ms",
+                documents.size(), namePostings.size() + descriptionPostings.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Mantiene el índice sincronizado con los cambios confirmados de productos
+     *
+     * @param event evento de cambio de producto
+     */
+    @TransactionalEventListener
+    @Order(ProductChangedEvent.APPLY_ORDER)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!ready) {
+            synchronized (pendingEvents) {
+                if (!ready) {
+                    pendingEvents.add(event);
+                    return;
+                }
+            }
+        }
+        apply(event);
+    }
+
+    /**
+     * Aplica un cambio salvo que el índice ya refleje una versión igual o
+     * posterior o que el producto se haya eliminado
+     */
+    private synchronized void apply(ProductChangedEvent event) {
+        ProductResponseDto previous = event.getPrevious();
+        ProductResponseDto current = event.getCurrent();
+        Document indexed = documents.get(event.getProductId());
+
+        if (current == null) {
+            // El borrado se recuerda aunque llegue antes que el alta o la última modificación
+            deletedVersions.record(previous.getId(), previous.getVersion());
+            if (indexed != null && indexed.version() <= previous.getVersion()) {
+                remove(previous.getId());
+            }
+        } else if (deletedVersions.isDeleted(current.getId(), current.getVersion())) {
+            return;
+        } else if (indexed == null || indexed.version() < current.getVersion()) {
+            index(current.getId(), current.getName(), current.getDescription(), current.getVersion());
+        }
+    }
+
+    /**
+     * Busca productos cuyo nombre o descripción contengan palabras que empiecen
+     * por cada uno de los términos de la consulta, ordenados por relevancia
+     *
+     * @param query texto a buscar
+     * @param page número de página (desde 0)
+     * @param limit tamaño de página
+     * @return IDs de los productos encontrados, de mayor a menor relevancia
+     * @throws SearchIndexUnavailableException si el índice aún se está construyendo
+     */
+    public List<Long> search(String query, int page, int limit) {
+        if (!ready) {
+            throw new SearchIndexUnavailableException(
+                    "El índice de búsqueda se está construyendo; reintente en unos segundos");
+        }
+        String[] terms = Arrays.stream(tokenize(query))
+                .filter(term -> term.length() >= minPrefixLength)
+                .distinct()
+                .toArray(String[]::new);
+        if (terms.length == 0) {
+            return List.of();
+        }
+
+        // Empezar por el término con menos candidatos; la puntuación comprueba el resto
+        String narrowest = null;
+        int narrowestSize = Integer.MAX_VALUE;
+        for (String term : terms) {
+            int size = size(namePostings.get(prefixKey(term, maxPrefixLength)))
+                    + size(descriptionPostings.get(prefixKey(term, maxDescriptionPrefixLength)));
+            if (size == 0) {
+                return List.of();
+            }
+            if (size < narrowestSize) {
+                narrowest = term;
+                narrowestSize = size;
+            }
+        }
+
+        // Conservar solo los mejores (page + 1) * limit resultados; la cima del montículo es el peor
+        int wanted = (int) Math.min(((long) page + 1) * limit, Integer.MAX_VALUE);
+        PriorityQueue<ScoredId> best = new PriorityQueue<>(ScoredId.BEST_FIRST.reversed());
+        for (long id : candidates(narrowest)) {
+            Document document = documents.get(id);
+            if (document == null) {
+                continue;
+            }
+            int score = score(document, terms);
+            if (score == 0) {
+                continue;
+            }
+            ScoredId match = new ScoredId(id, score);
+            if (best.size() < wanted) {
+                best.add(match);
+            } else if (ScoredId.BEST_FIRST.compare(match, best.peek()) < 0) {
+                best.poll();
+                best.add(match);
+            }
+        }
+
+        List<ScoredId> ranked = new ArrayList<>(best);
+        ranked.sort(ScoredId.BEST_FIRST);
+        int from = (int) Math.min((long) page * limit, ranked.size());
+        return ranked.subList(from, ranked.size()).stream()
+                .map(ScoredId::id)
+                .toList();
+    }
+
+    /**
+     * Obtiene los IDs de los productos con alguna palabra que pueda empezar por el término
+     *
+     * Un término más largo que el prefijo indexado de la descripción devuelve
+     * también productos que solo comparten ese prefijo; la puntuación los descarta.
+     *
+     * @param term término de la consulta
+     * @return IDs ordenados y sin repetir
+     */
+    private long[] candidates(String term) {
+        long[] byName = toArray(namePostings.get(prefixKey(term, maxPrefixLength)));
+        long[] byDescription = toArray(descriptionPostings.get(prefixKey(term, maxDescriptionPrefixLength)));
+        if (byDescription.length == 0) {
+            return byName;
+        }
+        if (byName.length == 0) {
+            return byDescription;
+        }
+
+        long[] merged = new long[byName.length + byDescription.length];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < byName.length || j < byDescription.length) {
+            long next;
+            if (j == byDescription.length || (i < byName.length && byName[i] < byDescription[j])) {
+                next = byName[i++];
+            } else if (i == byName.length || byDescription[j] < byName[i]) {
+                next = byDescription[j++];
+            } else {
+                next = byName[i++];
+                j++;
+            }
+            merged[size++] = next;
+        }
+        return Arrays.copyOf(merged, size);
+    }
+
+    private static int size(PostingList posting) {
+        return posting != null ? posting.size() : 0;
+    }
+
+    private static long[] toArray(PostingList posting) {
+        return posting != null ? posting.toArray() : NO_IDS;
+    }
+
+    /**
+     * Calcula la relevancia de un documento; todos los términos deben aparecer
+     *
+     * Una palabra exacta en el nombre puntúa más que un prefijo en el nombre,
+     * y cualquier coincidencia en el nombre puntúa más que en la descripción.
+     *
+     * @param document documento a puntuar
+     * @param terms términos de la consulta
+     * @return puntuación, o 0 si algún término no aparece
+     */
+    private int score(Document document, String[] terms) {
+        int total = 0;
+        for (String term : terms) {
+            int best = Math.max(
+                    matchScore(document.nameTokens(), term, 8, 4),
+                    matchScore(document.descriptionTokens(), term, 2, 1));
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private int matchScore(String[] tokens, String term, int exactScore, int prefixScore) {
+        int best = 0;
+        for (String token : tokens) {
+            if (token.equals(term)) {
+                return exactScore;
+            }
+            if (token.startsWith(term)) {
+                best = prefixScore;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Indexa (o reindexa) un producto
+     */
+    private void index(Long id, String name, String description, long version) {
+        Document document = new Document(tokenize(name), tokenize(description), version);
+        Document previous = documents.get(id);
+        if (previous != null && previous.hasSameTokens(document)) {
+            documents.put(id, document);
+            return;
+        }
+
+        Set<String> nameKeys = prefixKeys(document.nameTokens(), maxPrefixLength);
+        Set<String> descriptionKeys = prefixKeys(document.descriptionTokens(), maxDescriptionPrefixLength);
+        nameKeys.forEach(key -> addPosting(namePostings, key, id));
+        descriptionKeys.forEach(key -> addPosting(descriptionPostings, key, id));
+        documents.put(id, document);
+
+        // Quitar solo las claves que ya no aplican, para no ocultar el producto durante la reindexación
+        if (previous != null) {
+            for (String key : prefixKeys(previous.nameTokens(), maxPrefixLength)) {
+                if (!nameKeys.contains(key)) {
+                    removePosting(namePostings, key, id);
+                }
+            }
+            for (String key : prefixKeys(previous.descriptionTokens(), maxDescriptionPrefixLength)) {
+                if (!descriptionKeys.contains(key)) {
+                    removePosting(descriptionPostings, key, id);
+                }
+            }
+        }
+    }
+
+    /**
+     * Elimina un producto del índice
+     */
+    private void remove(Long id) {
+        Document previous = documents.remove(id);
+        if (previous != null) {
+            prefixKeys(previous.nameTokens(), maxPrefixLength)
+                    .forEach(key -> removePosting(namePostings, key, id));
+            prefixKeys(previous.descriptionTokens(), maxDescriptionPrefixLength)
+                    .forEach(key -> removePosting(descriptionPostings, key, id));
+        }
+    }
+
+    private static void addPosting(Map<String, PostingList> postings, String key, long id) {
+        postings.compute(key, (k, ids) -> {
+            PostingList list = ids != null ? ids : new PostingList();
+            list.add(id);
+            return list;
+        });
+    }
+
+    private static void removePosting(Map<String, PostingList> postings, String key, long id) {
+        postings.computeIfPresent(key, (k, ids) -> ids.remove(id) ? null : ids);
+    }
+
+    /**
+     * Obtiene las claves de prefijo de un conjunto de palabras
+     *
+     * @param tokens palabras a indexar
+     * @param maxLength longitud máxima de los prefijos
+     */
+    private Set<String> prefixKeys(String[] tokens, int maxLength) {
+        Set<String> keys = new LinkedHashSet<>();
+        for (String token : tokens) {
+            int max = Math.min(token.length(), maxLength);
+            for (int length = minPrefixLength; length <= max; length++) {
+                keys.add(token.substring(0, length));
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Obtiene la clave de prefijo bajo la que se indexa un término de búsqueda
+     */
+    private static String prefixKey(String term, int maxLength) {
+        return term.length() > maxLength ? term.substring(0, maxLength) : term;
+    }
+
+    /**
+     * Normaliza un texto a palabras en minúsculas y sin acentos
+     *
+     * @param text texto a dividir
+     * @return palabras del texto
+     */
+    static String[] tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return NO_TOKENS;
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return Arrays.stream(NON_WORD.split(normalized.toLowerCase(Locale.ROOT)))
+                .filter(token -> !token.isEmpty())
+                .toArray(String[]::new);
+    }
+}
\ No newline at end of file
@@ -1,9 +1,15 @@
 package com.example.inventoryapi.service;
 
+import com.example.inventoryapi.dto.BatchResultDto;
+import com.example.inventoryapi.dto.ProductDeltaDto;
+import com.example.inventoryapi.dto.ProductPageDto;
 import com.example.inventoryapi.dto.ProductRequestDto;
 import com.example.inventoryapi.dto.ProductResponseDto;
+import com.example.inventoryapi.dto.StockAdjustmentResponseDto;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Interfaz del servicio para operaciones de productos
@@ -17,11 +23,39 @@ import java.util.List;
 public interface ProductService {
     
     /**
-     * Obtiene todos los productos
+     * Obtiene una página de productos mediante paginación por cursor sobre el ID
      * 
-     * @return lista de todos los productos
+     * @param after ID del último producto recibido (null para la primera página)
+     * @param limit número máximo de productos a devolver
+     * @return página de productos con el cursor de la siguiente página
+     * @throws IllegalArgumentException si el límite o el cursor son inválidos
      */
-    List<ProductResponseDto> getAllProducts();
+    ProductPageDto getProductsPage(Long after, int limit);
+    
+    /**
+     * Obtiene los productos modificados y eliminados después de un cursor (fecha, ID)
+     * 
+     * Los cambios se devuelven en orden de fecha y, a igual fecha, de ID. Solo se
+     * incluyen los cambios con una antigüedad mínima (inventory.sync.settle-time)
+     * para no saltarse transacciones que aún no se habían confirmado.
+     * 
+     * @param since fecha del último cambio recibido
+     * @param afterId ID del último cambio recibido en esa fecha (null para excluir toda la fecha)
+     * @param limit número máximo de cambios a devolver
+     * @return cambios con el cursor de la siguiente petición
+     * @throws IllegalArgumentException si el límite es inválido
+     */
+    ProductDeltaDto getProductsModifiedSince(LocalDateTime since, Long afterId, int limit);
+    
+    /**
+     * Recorre todo el catálogo en orden de ID entregando cada producto al consumidor
+     * 
+     * Los productos no se acumulan en memoria, por lo que el consumo es constante
+     * independientemente del tamaño de la tabla.
+     * 
+     * @param consumer consumidor que recibe cada producto
+     */
+    void streamAllProducts(Consumer<ProductResponseDto> consumer);
     
     /**
      * Obtiene un producto por su ID
@@ -32,6 +66,16 @@ public interface ProductService {
      */
     ProductResponseDto getProductById(Long id);
     
+    /**
+     * Indica si la cantidad devuelta para un producto procede de la escritura diferida de stock
+     * 
+     * Esa cantidad puede cambiar sin que cambie la versión del producto.
+     * 
+     * @param id ID del producto
+     * @return true si el producto tiene su cantidad en memoria
+     */
+    boolean hasBufferedStock(Long id);
+    
     /**
      * Crea un nuevo producto
      * 
@@ -45,26 +89,62 @@ public interface ProductService {
      * 
      * @param id ID del producto a actualizar
      * @param productRequest nuevos datos del producto
+     * @param expectedVersion versión esperada del producto, o null para no verificarla
+     * @param expectedQuantity cantidad esperada si el ETag incluía la cantidad en memoria, o null
      * @return producto actualizado
-     * @throws RuntimeException si el producto no existe
+     * @throws RuntimeException si el producto no existe o la versión no coincide
      */
-    ProductResponseDto updateProduct(Long id, ProductRequestDto productRequest);
+    ProductResponseDto updateProduct(Long id, ProductRequestDto productRequest,
+                                     Long expectedVersion, Integer expectedQuantity);
     
     /**
      * Elimina un producto por su ID
      * 
      * @param id ID del producto a eliminar
-     * @throws RuntimeException si el producto no existe
+     * @param expectedVersion versión esperada del producto, o null para no verificarla
+     * @param expectedQuantity cantidad esperada si el ETag incluía la cantidad en memoria, o null
+     * @throws RuntimeException si el producto no existe o la versión no coincide
+     */
+    void deleteProduct(Long id, Long expectedVersion, Integer expectedQuantity);
+    
+    /**
+     * Ajusta de forma atómica la cantidad de un producto
+     * 
+     * @param id ID del producto
+     * @param delta cantidad a sumar (positiva) o restar (negativa)
+     * @return cantidad resultante
+     * @throws RuntimeException si el producto no existe, no hay stock suficiente o el stock superaría el máximo
+     */
+    StockAdjustmentResponseDto adjustStock(Long id, int delta);
+    
+    /**
+     * Crea un lote de productos en bloques transaccionales
+     * 
+     * @param productRequests datos de los productos a crear
+     * @return resultado de cada elemento del lote
+     * @throws IllegalArgumentException si el lote está vacío o excede el tamaño máximo
+     */
+    BatchResultDto createProducts(List<ProductRequestDto> productRequests);
+    
+    /**
+     * Crea o actualiza un lote de productos, identificándolos por nombre
+     * (insensible a mayúsculas)
+     * 
+     * @param productRequests datos de los productos a crear o actualizar
+     * @return resultado de cada elemento del lote
+     * @throws IllegalArgumentException si el lote está vacío o excede el tamaño máximo
      */
-    void deleteProduct(Long id);
+    BatchResultDto upsertProducts(List<ProductRequestDto> productRequests);
     
     /**
-     * Busca productos por nombre (búsqueda parcial)
+     * Busca productos por palabras de su nombre o descripción, ordenados por relevancia
      * 
-     * @param name nombre o parte del nombre a buscar
-     * @return lista de productos que coinciden
+     * @param query texto a buscar; cada palabra puede ser un prefijo
+     * @param page número de página (desde 0)
+     * @param limit tamaño de página
+     * @return lista de productos que coinciden, de mayor a menor relevancia
      */
-    List<ProductResponseDto> searchProductsByName(String name);
+    List<ProductResponseDto> searchProducts(String query, int page, int limit);
     
     /**
      * Busca productos por rango de precios
@@ -103,4 +183,21 @@ public interface ProductService {
      * @return número total de productos
      */
     long getTotalProductCount();
+    
+    /**
+     * Obtiene el número de productos con stock disponible
+     * 
+     * @return número de productos con stock > 0
+     */
+    long getInStockProductCount();
+    
+    /**
+     * Obtiene todas las estadísticas del inventario de una misma instantánea
+     * 
+     * A diferencia de llamar por separado a los métodos anteriores, los
+     * valores devueltos son coherentes entre sí aunque haya cambios concurrentes.
+     * 
+     * @return instantánea de las estadísticas
+     */
+    InventoryStatsAggregate.Snapshot getInventoryStats();
 }
\ No newline at end of file
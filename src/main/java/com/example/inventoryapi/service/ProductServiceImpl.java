@@ -1,17 +1,53 @@
 package com.example.inventoryapi.service;
 
+import com.example.inventoryapi.config.CacheConfig;
+import com.example.inventoryapi.dto.BatchItemResultDto;
+import com.example.inventoryapi.dto.BatchResultDto;
+import com.example.inventoryapi.dto.ProductDeltaDto;
+import com.example.inventoryapi.dto.ProductPageDto;
 import com.example.inventoryapi.dto.ProductRequestDto;
 import com.example.inventoryapi.dto.ProductResponseDto;
+import com.example.inventoryapi.dto.StockAdjustmentResponseDto;
+import com.example.inventoryapi.event.ProductChangedEvent;
+import com.example.inventoryapi.exception.InsufficientStockException;
 import com.example.inventoryapi.exception.ProductNotFoundException;
+import com.example.inventoryapi.exception.ProductVersionMismatchException;
 import com.example.inventoryapi.model.Product;
+import com.example.inventoryapi.model.ProductTombstone;
 import com.example.inventoryapi.repository.ProductRepository;
+import com.example.inventoryapi.repository.ProductTombstoneRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementación del servicio para operaciones de productos
@@ -24,30 +60,162 @@ import java.util.stream.Collectors;
  */
 @Service
 @Transactional
+@Timed(value = "inventory.service", description = "Duración de los métodos de ProductService", histogram = true)
 public class ProductServiceImpl implements ProductService {
     
+    private static final Logger logger = LoggerFactory.getLogger(ProductServiceImpl.class);
+    
     private final ProductRepository productRepository;
     
+    private final ProductTombstoneRepository tombstoneRepository;
+    
+    private final EntityManager entityManager;
+    
+    private final InventoryStatsAggregate statsAggregate;
+    
+    private final ProductSearchIndex searchIndex;
+    
+    private final ProductColumnSnapshot columnSnapshot;
+    
+    private final StockWriteBehindBuffer stockBuffer;
+    
+    private final ApplicationEventPublisher eventPublisher;
+    
+    private final TransactionTemplate transactionTemplate;
+    
+    private final Validator validator;
+    
+    @Value("${inventory.pagination.max-limit:1000}")
+    private int maxPageLimit;
+    
+    @Value("${inventory.batch.max-items:10000}")
+    private int maxBatchItems;
+    
+    @Value("${inventory.batch.chunk-size:500}")
+    private int batchChunkSize;
+    
+    @Value("${inventory.sync.settle-time:5s}")
+    private Duration syncSettleTime;
+    
     @Autowired
-    public ProductServiceImpl(ProductRepository productRepository) {
+    public ProductServiceImpl(ProductRepository productRepository, ProductTombstoneRepository tombstoneRepository,
+                              EntityManager entityManager,
+                              InventoryStatsAggregate statsAggregate, ProductSearchIndex searchIndex,
+                              ProductColumnSnapshot columnSnapshot,
+                              StockWriteBehindBuffer stockBuffer,
+                              ApplicationEventPublisher eventPublisher,
+                              PlatformTransactionManager transactionManager, Validator validator) {
         this.productRepository = productRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.entityManager = entityManager;
+        this.statsAggregate = statsAggregate;
+        this.searchIndex = searchIndex;
+        this.columnSnapshot = columnSnapshot;
+        this.stockBuffer = stockBuffer;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<ProductResponseDto> getAllProducts() {
-        List<Product> products = productRepository.findAll();
-        return products.stream()
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+    public ProductPageDto getProductsPage(Long after, int limit) {
+        if (limit < 1 || limit > maxPageLimit) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + maxPageLimit);
+        }
+        
+        if (after != null && after < 0) {
+            throw new IllegalArgumentException("El cursor no puede ser negativo");
+        }
+        
+        // Se solicita un elemento extra para saber si existe una página siguiente
+        List<ProductResponseDto> products = productRepository.findDtosByIdGreaterThan(
+                after != null ? after : 0L, PageRequest.of(0, limit + 1));
+        
+        boolean hasMore = products.size() > limit;
+        List<ProductResponseDto> content = hasMore ? products.subList(0, limit) : products;
+        Long nextCursor = hasMore ? content.get(content.size() - 1).getId() : null;
+        
+        return new ProductPageDto(content, nextCursor, hasMore, limit);
     }
     
     @Override
     @Transactional(readOnly = true)
+    public ProductDeltaDto getProductsModifiedSince(LocalDateTime since, Long afterId, int limit) {
+        if (limit < 1 || limit > maxPageLimit) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + maxPageLimit);
+        }
+        
+        // Sin ID se excluyen todos los cambios de la fecha indicada
+        long idCursor = afterId != null ? afterId : Long.MAX_VALUE;
+        LocalDateTime until = LocalDateTime.now().minus(syncSettleTime);
+        PageRequest pageRequest = PageRequest.of(0, limit + 1);
+        List<ProductResponseDto> products =
+                productRepository.findDtosModifiedAfter(since, idCursor, until, pageRequest);
+        List<ProductTombstone> tombstones =
+                tombstoneRepository.findDeletedAfter(since, idCursor, until, pageRequest);
+        
+        // Mezclar ambas listas, ya ordenadas por (fecha, ID), hasta completar el límite
+        List<ProductResponseDto> modified = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        LocalDateTime nextTs = since;
+        Long nextAfterId = afterId;
+        int productIndex = 0;
+        int tombstoneIndex = 0;
+        while (modified.size() + deleted.size() < limit) {
+            ProductResponseDto product = productIndex < products.size() ? products.get(productIndex) : null;
+            ProductTombstone tombstone = tombstoneIndex < tombstones.size() ? tombstones.get(tombstoneIndex) : null;
+            if (product == null && tombstone == null) {
+                break;
+            }
+            if (tombstone == null || (product != null && compareCursor(product.getUpdatedAt(), product.getId(),
+                    tombstone.getDeletedAt(), tombstone.getProductId()) < 0)) {
+                modified.add(product);
+                productIndex++;
+                nextTs = product.getUpdatedAt();
+                nextAfterId = product.getId();
+            } else {
+                deleted.add(tombstone.getProductId());
+                tombstoneIndex++;
+                nextTs = tombstone.getDeletedAt();
+                nextAfterId = tombstone.getProductId();
+            }
+        }
+        boolean hasMore = productIndex < products.size() || tombstoneIndex < tombstones.size();
+        
+        return new ProductDeltaDto(modified, deleted, nextTs, nextAfterId, hasMore);
+    }
+    
+    private static int compareCursor(LocalDateTime firstTime, Long firstId, LocalDateTime secondTime, Long secondId) {
+        int byTime = firstTime.compareTo(secondTime);
+        return byTime != 0 ? byTime : firstId.compareTo(secondId);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllProducts(Consumer<ProductResponseDto> consumer) {
+        try (Stream<Product> products = productRepository.streamAllOrderedById()) {
+            products.forEach(product -> {
+                consumer.accept(convertToResponseDto(product));
+                // Liberar la entidad del contexto de persistencia para mantener la memoria constante
+                entityManager.detach(product);
+            });
+        }
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
     public ProductResponseDto getProductById(Long id) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException("Producto no encontrado con ID: " + id));
-        return convertToResponseDto(product);
+        return stockBuffer.overlay(convertToResponseDto(product));
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public boolean hasBufferedStock(Long id) {
+        return stockBuffer.isBuffered(id);
     }
     
     @Override
@@ -61,88 +229,366 @@ public class ProductServiceImpl implements ProductService {
         product.setQuantity(productRequest.getQuantity());
         
         Product savedProduct = productRepository.save(product);
-        return convertToResponseDto(savedProduct);
+        ProductResponseDto created = convertToResponseDto(savedProduct);
+        eventPublisher.publishEvent(ProductChangedEvent.created(created));
+        return created;
     }
     
     @Override
-    public ProductResponseDto updateProduct(Long id, ProductRequestDto productRequest) {
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
+    public ProductResponseDto updateProduct(Long id, ProductRequestDto productRequest,
+                                            Long expectedVersion, Integer expectedQuantity) {
         validateProductRequest(productRequest);
+        Long flushedDelta = stockBuffer.detach(List.of(id)).get(id);
         
         Product existingProduct = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException("Producto no encontrado con ID: " + id));
+        checkVersion(existingProduct, flushedDelta, expectedVersion, expectedQuantity);
+        ProductResponseDto previous = convertToResponseDto(existingProduct);
         
         existingProduct.setName(productRequest.getName());
         existingProduct.setDescription(productRequest.getDescription());
         existingProduct.setPrice(productRequest.getPrice());
         existingProduct.setQuantity(productRequest.getQuantity());
         
-        Product updatedProduct = productRepository.save(existingProduct);
-        return convertToResponseDto(updatedProduct);
+        // Flush para que la versión incrementada se refleje en la respuesta
+        Product updatedProduct = productRepository.saveAndFlush(existingProduct);
+        ProductResponseDto updated = convertToResponseDto(updatedProduct);
+        eventPublisher.publishEvent(ProductChangedEvent.updated(previous, updated));
+        return updated;
     }
     
     @Override
-    public void deleteProduct(Long id) {
-        if (!productRepository.existsById(id)) {
-            throw new ProductNotFoundException("Producto no encontrado con ID: " + id);
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
+    public void deleteProduct(Long id, Long expectedVersion, Integer expectedQuantity) {
+        Long flushedDelta = stockBuffer.detach(List.of(id)).get(id);
+        Product existingProduct = productRepository.findById(id)
+                .orElseThrow(() -> new ProductNotFoundException("Producto no encontrado con ID: " + id));
+        checkVersion(existingProduct, flushedDelta, expectedVersion, expectedQuantity);
+        productRepository.delete(existingProduct);
+        tombstoneRepository.save(new ProductTombstone(id, LocalDateTime.now()));
+        eventPublisher.publishEvent(ProductChangedEvent.deleted(convertToResponseDto(existingProduct)));
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id")
+    public StockAdjustmentResponseDto adjustStock(Long id, int delta) {
+        if (delta == 0) {
+            throw new IllegalArgumentException("El ajuste de stock no puede ser cero");
+        }
+        
+        // Con escritura diferida el ajuste se aplica en memoria, sin ocupar una conexión,
+        // y se vuelca (y publica) más tarde
+        Integer bufferedQuantity = stockBuffer.adjust(id, delta);
+        if (bufferedQuantity != null) {
+            return new StockAdjustmentResponseDto(id, delta, bufferedQuantity);
+        }
+        return transactionTemplate.execute(status -> adjustStockInDatabase(id, delta));
+    }
+    
+    private StockAdjustmentResponseDto adjustStockInDatabase(Long id, int delta) {
+        if (productRepository.adjustQuantity(id, delta, LocalDateTime.now()) == 0) {
+            if (!productRepository.existsById(id)) {
+                throw new ProductNotFoundException("Producto no encontrado con ID: " + id);
+            }
+            // Una entrada solo puede fallar por superar el máximo; una salida, por falta de stock
+            if (delta > 0) {
+                throw new IllegalArgumentException("El ajuste dejaría el stock del producto con ID " + id
+                        + " por encima del máximo permitido (" + Integer.MAX_VALUE + ")");
+            }
+            throw new InsufficientStockException("Stock insuficiente para el producto con ID: " + id);
         }
-        productRepository.deleteById(id);
+        
+        ProductResponseDto current = productRepository.findById(id)
+                .map(ProductServiceImpl::convertToResponseDto)
+                .orElseThrow(() -> new ProductNotFoundException("Producto no encontrado con ID: " + id));
+        ProductResponseDto previous = new ProductResponseDto(
+                current.getId(),
+                current.getName(),
+                current.getDescription(),
+                current.getPrice(),
+                current.getQuantity() - delta,
+                current.getCreatedAt(),
+                current.getUpdatedAt(),
+                current.getVersion() - 1
+        );
+        eventPublisher.publishEvent(ProductChangedEvent.updated(previous, current));
+        
+        return new StockAdjustmentResponseDto(id, delta, current.getQuantity());
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchResultDto createProducts(List<ProductRequestDto> productRequests) {
+        return processBatch(productRequests, false);
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, allEntries = true)
+    public BatchResultDto upsertProducts(List<ProductRequestDto> productRequests) {
+        return processBatch(productRequests, true);
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<ProductResponseDto> searchProductsByName(String name) {
-        List<Product> products = productRepository.findByNameContainingIgnoreCase(name);
-        return products.stream()
-                .map(this::convertToResponseDto)
+    public List<ProductResponseDto> searchProducts(String query, int page, int limit) {
+        if (limit < 1 || limit > maxPageLimit) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + maxPageLimit);
+        }
+        
+        if (page < 0) {
+            throw new IllegalArgumentException("La página no puede ser negativa");
+        }
+        
+        List<Long> ids = searchIndex.search(query, page, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        
+        // Recuperar los productos en una sola consulta y conservar el orden de relevancia
+        Map<Long, ProductResponseDto> productsById = productRepository.findDtosByIdIn(ids).stream()
+                .collect(Collectors.toMap(ProductResponseDto::getId, product -> product));
+        return ids.stream()
+                .map(productsById::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
     
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<ProductResponseDto> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
         if (minPrice.compareTo(maxPrice) > 0) {
             throw new IllegalArgumentException("El precio mínimo no puede ser mayor al precio máximo");
         }
         
-        List<Product> products = productRepository.findByPriceBetween(minPrice, maxPrice);
-        return products.stream()
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+        // Con la copia en columnas construida, el filtro se resuelve en memoria sin
+        // abrir una transacción ni tomar una conexión del pool; mientras se construye,
+        // la consulta usa la transacción de solo lectura del propio repositorio
+        if (columnSnapshot.isReady()) {
+            return columnSnapshot.findByPriceRange(minPrice, maxPrice);
+        }
+        return productRepository.findDtosByPriceBetween(minPrice, maxPrice);
     }
     
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<ProductResponseDto> getLowStockProducts(Integer threshold) {
         if (threshold < 0) {
             throw new IllegalArgumentException("El umbral de stock no puede ser negativo");
         }
         
-        List<Product> products = productRepository.findByQuantityLessThanEqual(threshold);
-        return products.stream()
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+        if (columnSnapshot.isReady()) {
+            return columnSnapshot.findByQuantityAtMost(threshold);
+        }
+        return productRepository.findDtosByQuantityLessThanEqual(threshold);
     }
     
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<ProductResponseDto> getProductsInStock() {
-        List<Product> products = productRepository.findProductsInStock();
-        return products.stream()
-                .map(this::convertToResponseDto)
-                .collect(Collectors.toList());
+        if (columnSnapshot.isReady()) {
+            return columnSnapshot.findInStock();
+        }
+        return productRepository.findDtosInStock();
     }
     
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BigDecimal calculateTotalInventoryValue() {
-        BigDecimal totalValue = productRepository.calculateTotalInventoryValue();
-        return totalValue != null ? totalValue : BigDecimal.ZERO;
+        return statsAggregate.getSnapshot().totalValue();
     }
     
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public long getTotalProductCount() {
-        return productRepository.countTotalProducts();
+        return statsAggregate.getSnapshot().totalProducts();
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public long getInStockProductCount() {
+        return statsAggregate.getSnapshot().inStockProducts();
+    }
+    
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public InventoryStatsAggregate.Snapshot getInventoryStats() {
+        return statsAggregate.getSnapshot();
+    }
+    
+    /**
+     * Procesa un lote de productos en bloques, cada uno en su propia transacción
+     * 
+     * Un error al guardar un bloque solo revierte ese bloque; sus elementos se
+     * reintentan uno a uno, cada uno en su propia transacción, de modo que solo
+     * se rechazan los que vuelven a fallar, y el resto del lote continúa.
+     * 
+     * @param productRequests productos del lote
+     * @param upsert true para actualizar los productos existentes con el mismo nombre
+     * @return resultado del lote
+     */
+    private BatchResultDto processBatch(List<ProductRequestDto> productRequests, boolean upsert) {
+        if (productRequests == null || productRequests.isEmpty()) {
+            throw new IllegalArgumentException("El lote de productos no puede estar vacío");
+        }
+        
+        if (productRequests.size() > maxBatchItems) {
+            throw new IllegalArgumentException("El lote no puede contener más de " + maxBatchItems + " productos");
+        }
+        
+        List<BatchItemResultDto> results = new ArrayList<>(productRequests.size());
+        for (int from = 0; from < productRequests.size(); from += batchChunkSize) {
+            int offset = from;
+            List<ProductRequestDto> chunk = productRequests.subList(from, Math.min(from + batchChunkSize, productRequests.size()));
+            try {
+                results.addAll(transactionTemplate.execute(status -> writeChunk(chunk, offset, upsert)));
+            } catch (RuntimeException e) {
+                logger.warn("Error al guardar el bloque de productos {}-{}; se reintentan uno a uno",
+                        offset, offset + chunk.size() - 1, e);
+                for (int i = 0; i < chunk.size(); i++) {
+                    results.add(writeItem(chunk.get(i), offset + i, upsert));
+                }
+            }
+        }
+        
+        return new BatchResultDto(results);
+    }
+    
+    /**
+     * Escribe un único elemento de un lote en su propia transacción
+     * 
+     * @param request datos del producto
+     * @param index posición del elemento dentro del lote
+     * @param upsert true para actualizar el producto existente con el mismo nombre
+     * @return resultado del elemento
+     */
+    private BatchItemResultDto writeItem(ProductRequestDto request, int index, boolean upsert) {
+        try {
+            return transactionTemplate.execute(status -> writeChunk(List.of(request), index, upsert)).get(0);
+        } catch (RuntimeException e) {
+            logger.warn("Error al guardar el elemento {} del lote de productos", index, e);
+            return BatchItemResultDto.failed(index, "No se pudo guardar el producto");
+        }
+    }
+    
+    /**
+     * Escribe un bloque de productos dentro de la transacción actual
+     * 
+     * Los nombres se comprueban antes de escribir contra la columna name_lower,
+     * tanto en la base de datos como dentro del propio bloque, para rechazar
+     * cada duplicado en su elemento en lugar de hacer fallar el bloque entero.
+     * En modo upsert un nombre existente o repetido actualiza el mismo producto.
+     * 
+     * @param chunk productos del bloque
+     * @param offset posición del primer producto del bloque dentro del lote
+     * @param upsert true para actualizar los productos existentes con el mismo nombre
+     * @return resultado de cada elemento del bloque
+     */
+    private List<BatchItemResultDto> writeChunk(List<ProductRequestDto> chunk, int offset, boolean upsert) {
+        BatchItemResultDto[] results = new BatchItemResultDto[chunk.size()];
+        Map<String, Product> existingByName = new HashMap<>();
+        
+        List<String> names = chunk.stream()
+                .filter(request -> request != null && request.getName() != null)
+                .map(request -> request.getName().toLowerCase(Locale.ROOT))
+                .distinct()
+                .collect(Collectors.toList());
+        List<Product> existing = names.isEmpty() ? List.of() : productRepository.findByLowerNameIn(names);
+        // Los ajustes de stock pendientes se vuelcan antes de sobrescribir la cantidad
+        if (upsert && !stockBuffer.detach(existing.stream().map(Product::getId).toList()).isEmpty()) {
+            entityManager.clear();
+            existing = productRepository.findByLowerNameIn(names);
+        }
+        for (Product product : existing) {
+            existingByName.put(product.getNameLower(), product);
+        }
+        Map<String, Integer> firstIndexByName = new HashMap<>();
+        
+        Map<Product, ProductResponseDto> previousStates = new HashMap<>();
+        List<Product> written = new ArrayList<>(chunk.size());
+        int[] writtenIndexes = new int[chunk.size()];
+        
+        for (int i = 0; i < chunk.size(); i++) {
+            ProductRequestDto request = chunk.get(i);
+            String error = validateBatchItem(request);
+            if (error != null) {
+                results[i] = BatchItemResultDto.failed(offset + i, error);
+                continue;
+            }
+            
+            String nameLower = request.getName().toLowerCase(Locale.ROOT);
+            Integer firstIndex = firstIndexByName.putIfAbsent(nameLower, offset + i);
+            Product product = existingByName.get(nameLower);
+            if (!upsert && product != null) {
+                results[i] = BatchItemResultDto.failed(offset + i, product.getId() == null
+                        ? "name: El nombre ya aparece en el elemento " + firstIndex + " del lote"
+                        : "name: Ya existe un producto con ese nombre");
+                continue;
+            }
+            if (product == null) {
+                product = new Product();
+                existingByName.put(nameLower, product);
+            } else if (product.getId() != null && !previousStates.containsKey(product)) {
+                previousStates.put(product, convertToResponseDto(product));
+            }
+            
+            product.setName(request.getName());
+            product.setDescription(request.getDescription());
+            product.setPrice(request.getPrice());
+            product.setQuantity(request.getQuantity());
+            
+            writtenIndexes[written.size()] = i;
+            written.add(product);
+        }
+        
+        // Los nuevos productos obtienen su ID del bloque de la secuencia, lo que permite
+        // que Hibernate agrupe los INSERT en lotes JDBC al hacer flush
+        productRepository.saveAll(written.stream().filter(product -> product.getId() == null).distinct().toList());
+        entityManager.flush();
+        
+        Set<Product> published = new HashSet<>();
+        for (int w = 0; w < written.size(); w++) {
+            Product product = written.get(w);
+            ProductResponseDto previous = previousStates.get(product);
+            BatchItemResultDto.Status status = previous != null
+                    ? BatchItemResultDto.Status.UPDATED : BatchItemResultDto.Status.CREATED;
+            results[writtenIndexes[w]] = BatchItemResultDto.success(offset + writtenIndexes[w], status, product.getId());
+            
+            // Un mismo producto puede aparecer varias veces en el bloque; se publica su estado final una vez
+            if (published.add(product)) {
+                ProductResponseDto current = convertToResponseDto(product);
+                eventPublisher.publishEvent(previous != null
+                        ? ProductChangedEvent.updated(previous, current)
+                        : ProductChangedEvent.created(current));
+            }
+        }
+        
+        entityManager.clear();
+        return List.of(results);
+    }
+    
+    /**
+     * Valida un elemento de un lote sin lanzar excepciones
+     * 
+     * @param productRequest datos del producto a validar
+     * @return mensaje de error, o null si el elemento es válido
+     */
+    private String validateBatchItem(ProductRequestDto productRequest) {
+        if (productRequest == null) {
+            return "Los datos del producto no pueden ser nulos";
+        }
+        
+        Set<ConstraintViolation<ProductRequestDto>> violations = validator.validate(productRequest);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
     }
     
     /**
@@ -151,7 +597,7 @@ public class ProductServiceImpl implements ProductService {
      * @param product entidad Product
      * @return ProductResponseDto
      */
-    private ProductResponseDto convertToResponseDto(Product product) {
+    public static ProductResponseDto convertToResponseDto(Product product) {
         return new ProductResponseDto(
                 product.getId(),
                 product.getName(),
@@ -159,10 +605,38 @@ public class ProductServiceImpl implements ProductService {
                 product.getPrice(),
                 product.getQuantity(),
                 product.getCreatedAt(),
-                product.getUpdatedAt()
+                product.getUpdatedAt(),
+                product.getVersion()
         );
     }
     
+    /**
+     * Verifica que la versión del producto coincida con la esperada por el cliente
+     * 
+     * Si al desvincular el producto de la escritura diferida se volcaron sus
+     * ajustes, la versión que vio el cliente es la anterior a ese volcado, y
+     * solo coincide si el ETag incluía la cantidad en memoria ya volcada.
+     * 
+     * @param product producto actual
+     * @param flushedDelta ajuste de stock volcado al desvincular el producto, o null
+     * @param expectedVersion versión esperada, o null para omitir la verificación
+     * @param expectedQuantity cantidad esperada, o null si el ETag no la incluía
+     * @throws ProductVersionMismatchException si las versiones no coinciden
+     */
+    private void checkVersion(Product product, Long flushedDelta, Long expectedVersion, Integer expectedQuantity) {
+        if (expectedVersion == null) {
+            return;
+        }
+        long visibleVersion = flushedDelta != null ? product.getVersion() - 1 : product.getVersion();
+        boolean quantityMatches = expectedQuantity != null
+                ? expectedQuantity.equals(product.getQuantity())
+                : flushedDelta == null;
+        if (expectedVersion != visibleVersion || !quantityMatches) {
+            throw new ProductVersionMismatchException("El producto con ID " + product.getId()
+                    + " fue modificado (versión actual: " + product.getVersion() + ")");
+        }
+    }
+    
     /**
      * Valida los datos de un ProductRequestDto
      * 
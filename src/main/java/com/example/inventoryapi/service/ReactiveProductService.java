@@ -0,0 +1,76 @@
+package com.example.inventoryapi.service;
+
+import com.example.inventoryapi.dto.ProductResponseDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * Interfaz del servicio reactivo de lectura de productos
+ * 
+ * Alternativa no bloqueante a las lecturas de ProductService: los resultados
+ * se emiten a medida que se leen de la base de datos y respetan la demanda
+ * (backpressure) del consumidor. Las escrituras siguen en ProductService.
+ * 
+ * Los parámetros se validan al invocar el método, antes de suscribirse, de
+ * modo que el controlador pueda responder con un 400 antes de abrir el flujo.
+ * 
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+public interface ReactiveProductService {
+    
+    /**
+     * Emite todo el catálogo en orden de ID
+     * 
+     * @param after ID a partir del cual continuar (null para empezar desde el principio)
+     * @return flujo de productos
+     * @throws IllegalArgumentException si el cursor es negativo
+     */
+    Flux<ProductResponseDto> getAllProducts(Long after);
+    
+    /**
+     * Obtiene un producto por su ID
+     * 
+     * @param id ID del producto
+     * @return producto, o error ProductNotFoundException si no existe
+     */
+    Mono<ProductResponseDto> getProductById(Long id);
+    
+    /**
+     * Busca productos por nombre y descripción, de mayor a menor relevancia
+     * 
+     * @param query texto a buscar
+     * @param limit número máximo de resultados
+     * @return flujo de productos encontrados
+     * @throws IllegalArgumentException si el límite es inválido
+     */
+    Flux<ProductResponseDto> searchProducts(String query, int limit);
+    
+    /**
+     * Emite los productos dentro de un rango de precios
+     * 
+     * @param minPrice precio mínimo
+     * @param maxPrice precio máximo
+     * @return flujo de productos en el rango
+     * @throws IllegalArgumentException si el precio mínimo es mayor que el máximo
+     */
+    Flux<ProductResponseDto> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice);
+    
+    /**
+     * Emite los productos con stock bajo
+     * 
+     * @param threshold umbral de stock bajo
+     * @return flujo de productos con stock menor o igual al umbral
+     * @throws IllegalArgumentException si el umbral es negativo
+     */
+    Flux<ProductResponseDto> getLowStockProducts(Integer threshold);
+    
+    /**
+     * Emite los productos con stock disponible
+     * 
+     * @return flujo de productos con stock mayor a cero
+     */
+    Flux<ProductResponseDto> getProductsInStock();
+}
\ No newline at end of file
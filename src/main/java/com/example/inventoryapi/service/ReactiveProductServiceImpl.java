@@ -0,0 +1,197 @@
+package com.example.inventoryapi.service;
+
+import com.example.inventoryapi.dto.ProductResponseDto;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementación del servicio reactivo de lectura de productos
+ * 
+ * Las consultas se leen por bloques con paginación por cursor (keyset) sobre
+ * el ID, en el scheduler boundedElastic de Reactor. Cada bloque es una
+ * consulta corta que devuelve la conexión al pool al terminar, y el siguiente
+ * bloque solo se lee cuando el suscriptor ha pedido los elementos del
+ * anterior. Un consumidor lento no retiene ni un hilo ni una conexión: entre
+ * una petición de elementos y la siguiente no hay nada esperándolo.
+ * 
+ * No se usa R2DBC porque el driver R2DBC de H2 ejecuta el mismo motor embebido
+ * de forma síncrona; esta interfaz permite sustituir la implementación por una
+ * basada en R2DBC al migrar a una base de datos con driver no bloqueante.
+ * 
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@Service
+public class ReactiveProductServiceImpl implements ReactiveProductService {
+    
+    private static final String SELECT_PRODUCTS =
+            "SELECT id, name, description, price, quantity, created_at, updated_at, version FROM products ";
+    
+    /**
+     * Número de IDs por consulta al recuperar los resultados de una búsqueda
+     */
+    private static final int SEARCH_FETCH_BATCH = 100;
+    
+    private static final RowMapper<ProductResponseDto> PRODUCT_ROW_MAPPER = (rs, rowNum) -> new ProductResponseDto(
+            rs.getLong("id"),
+            rs.getString("name"),
+            rs.getString("description"),
+            rs.getBigDecimal("price"),
+            rs.getInt("quantity"),
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getObject("updated_at", LocalDateTime.class),
+            rs.getLong("version")
+    );
+    
+    private final JdbcTemplate jdbcTemplate;
+    
+    private final int chunkSize;
+    
+    private final ProductService productService;
+    
+    private final ProductSearchIndex searchIndex;
+    
+    private final Scheduler scheduler = Schedulers.boundedElastic();
+    
+    @Value("${inventory.pagination.max-limit:1000}")
+    private int maxPageLimit;
+    
+    @Autowired
+    public ReactiveProductServiceImpl(DataSource dataSource, ProductService productService,
+                                      ProductSearchIndex searchIndex,
+                                      @Value("${inventory.reactive.chunk-size:500}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("inventory.reactive.chunk-size debe ser mayor que cero");
+        }
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.chunkSize = chunkSize;
+        this.productService = productService;
+        this.searchIndex = searchIndex;
+    }
+    
+    @Override
+    public Flux<ProductResponseDto> getAllProducts(Long after) {
+        if (after != null && after < 0) {
+            throw new IllegalArgumentException("El cursor no puede ser negativo");
+        }
+        
+        return query("TRUE", after != null ? after : 0L);
+    }
+    
+    @Override
+    public Mono<ProductResponseDto> getProductById(Long id) {
+        // Reutiliza la lectura bloqueante para aprovechar la caché de productos
+        return Mono.fromCallable(() -> productService.getProductById(id))
+                .subscribeOn(scheduler);
+    }
+    
+    @Override
+    public Flux<ProductResponseDto> searchProducts(String query, int limit) {
+        if (limit < 1 || limit > maxPageLimit) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + maxPageLimit);
+        }
+        
+        List<Long> ids = searchIndex.search(query, 0, limit);
+        
+        // Recuperar los productos por bloques según la demanda, conservando el orden de relevancia
+        return Flux.fromIterable(ids)
+                .buffer(SEARCH_FETCH_BATCH)
+                .concatMap(batch -> findAllByIdInOrder(batch), 1);
+    }
+    
+    @Override
+    public Flux<ProductResponseDto> getProductsByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
+        if (minPrice.compareTo(maxPrice) > 0) {
+            throw new IllegalArgumentException("El precio mínimo no puede ser mayor al precio máximo");
+        }
+        
+        return query("price BETWEEN ? AND ?", 0L, minPrice, maxPrice);
+    }
+    
+    @Override
+    public Flux<ProductResponseDto> getLowStockProducts(Integer threshold) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("El umbral de stock no puede ser negativo");
+        }
+        
+        return query("quantity <= ?", 0L, threshold);
+    }
+    
+    @Override
+    public Flux<ProductResponseDto> getProductsInStock() {
+        return query("quantity > 0", 0L);
+    }
+    
+    /**
+     * Ejecuta una consulta de productos como flujo en orden de ID
+     * 
+     * La consulta se lanza al suscribirse y se lee por bloques de chunkSize
+     * filas con un cursor sobre el ID: cada bloque continúa tras el último ID
+     * emitido y solo se pide cuando el suscriptor ha solicitado los elementos
+     * del bloque anterior. Un bloque incompleto indica el final del resultado.
+     * Al cancelar el flujo (por ejemplo, si el cliente se desconecta) no se
+     * leen más bloques.
+     * 
+     * @param condition condición de la consulta, sin incluir el cursor
+     * @param after ID a partir del cual leer
+     * @param args parámetros de la condición
+     * @return flujo de productos
+     */
+    private Flux<ProductResponseDto> query(String condition, long after, Object... args) {
+        return readChunk(condition, after, args)
+                .expand(chunk -> chunk.size() < chunkSize
+                        ? Mono.empty()
+                        : readChunk(condition, chunk.get(chunk.size() - 1).getId(), args))
+                .concatMapIterable(Function.identity(), 1);
+    }
+    
+    /**
+     * Lee el siguiente bloque de una consulta con una conexión prestada solo
+     * durante la lectura
+     */
+    private Mono<List<ProductResponseDto>> readChunk(String condition, long after, Object[] args) {
+        Object[] params = new Object[args.length + 2];
+        params[0] = after;
+        System.arraycopy(args, 0, params, 1, args.length);
+        params[params.length - 1] = chunkSize;
+        return Mono.fromCallable(() -> jdbcTemplate.query(
+                        SELECT_PRODUCTS + "WHERE id > ? AND (" + condition + ") ORDER BY id LIMIT ?",
+                        PRODUCT_ROW_MAPPER, params))
+                .subscribeOn(scheduler);
+    }
+    
+    /**
+     * Recupera un bloque de productos por ID manteniendo el orden de los IDs
+     */
+    private Flux<ProductResponseDto> findAllByIdInOrder(List<Long> ids) {
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        return Mono.fromCallable(() -> jdbcTemplate.query(
+                        SELECT_PRODUCTS + "WHERE id IN (" + placeholders + ")", PRODUCT_ROW_MAPPER, ids.toArray()))
+                .subscribeOn(scheduler)
+                .flatMapIterable(products -> {
+                    Map<Long, ProductResponseDto> productsById = products.stream()
+                            .collect(Collectors.toMap(ProductResponseDto::getId, Function.identity()));
+                    return ids.stream()
+                            .map(productsById::get)
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.toList());
+                });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,273 @@
+package com.example.inventoryapi.service;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.zip.CRC32C;
+
+/**
+ * Diario en disco de los ajustes de stock diferidos
+ *
+ * Cada ajuste se añade como un registro de 24 bytes al segmento actual: una
+ * marca fija, el ID del producto, el delta y un CRC32C de ambos, de modo que
+ * la recuperación se detiene en el primer registro dañado en lugar de
+ * aplicar datos desalineados. Si una escritura falla a medias, el segmento
+ * se trunca hasta el último registro completo. Los segmentos se numeran de forma creciente y se cambian
+ * en cada volcado, de modo que un segmento cerrado contiene exactamente los
+ * ajustes incluidos en un volcado y puede borrarse cuando este se confirma.
+ *
+ * La sincronización con el disco se agrupa: el primer hilo que llega a
+ * {@link #force(long)} hace un único fsync que cubre también los registros
+ * escritos por los hilos que esperan detrás de él.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+public class StockJournal implements Closeable {
+
+    private static final int RECORD_MAGIC = 0x53544B31;
+
+    private static final int RECORD_SIZE = Integer.BYTES + 2 * Long.BYTES + Integer.BYTES;
+
+    private static final String SEGMENT_PREFIX = "stock-";
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private final Path directory;
+
+    private final Object forceLock = new Object();
+
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+
+    private FileChannel channel;
+
+    private long segment;
+
+    private long written;
+
+    private long writtenAtRotation;
+
+    private long forced;
+
+    /**
+     * El segmento actual no pudo truncarse tras una escritura fallida; se rechazan
+     * los ajustes hasta el siguiente cambio de segmento
+     */
+    private boolean damaged;
+
+    /**
+     * Abre el diario escribiendo en un segmento nuevo
+     *
+     * @param directory directorio de los segmentos
+     * @param segment número del primer segmento
+     */
+    public StockJournal(Path directory, long segment) {
+        this.directory = directory;
+        this.segment = segment;
+        this.channel = open(directory, segment);
+    }
+
+    /**
+     * Añade un ajuste al segmento actual, sin esperar a que llegue al disco
+     *
+     * @param productId ID del producto
+     * @param delta cantidad ajustada
+     * @return número del registro, para {@link #force(long)}
+     */
+    public synchronized long append(long productId, long delta) {
+        if (damaged) {
+            throw new IllegalStateException("El segmento actual del diario de stock está dañado");
+        }
+        CRC32C crc = new CRC32C();
+        record.clear();
+        record.putInt(RECORD_MAGIC).putLong(productId).putLong(delta);
+        crc.update(record.array(), Integer.BYTES, 2 * Long.BYTES);
+        record.putInt((int) crc.getValue()).flip();
+        long boundary = (written - writtenAtRotation) * RECORD_SIZE;
+        try {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+        } catch (IOException ex) {
+            truncate(boundary);
+            throw new UncheckedIOException(ex);
+        }
+        return ++written;
+    }
+
+    /**
+     * Descarta un registro escrito a medias para que los siguientes queden alineados
+     */
+    private void truncate(long boundary) {
+        try {
+            channel.truncate(boundary);
+        } catch (IOException ex) {
+            damaged = true;
+        }
+    }
+
+    /**
+     * Espera a que un registro, y todos los anteriores, estén en el disco
+     *
+     * @param recordNumber número devuelto por {@link #append(long, long)}
+     */
+    public void force(long recordNumber) {
+        synchronized (forceLock) {
+            if (forced >= recordNumber) {
+                return;
+            }
+            long target;
+            FileChannel current;
+            synchronized (this) {
+                target = written;
+                current = channel;
+            }
+            try {
+                current.force(false);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+            forced = target;
+        }
+    }
+
+    /**
+     * @return true si no se ha añadido ningún registro al segmento actual
+     */
+    public synchronized boolean isSegmentEmpty() {
+        return written == writtenAtRotation;
+    }
+
+    /**
+     * Cierra el segmento actual y continúa en el siguiente
+     *
+     * @return número del segmento cerrado
+     */
+    public long rotate() {
+        synchronized (forceLock) {
+            synchronized (this) {
+                long closed = segment;
+                try {
+                    channel.force(false);
+                    channel.close();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                forced = written;
+                writtenAtRotation = written;
+                damaged = false;
+                segment++;
+                channel = open(directory, segment);
+                return closed;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (forceLock) {
+            synchronized (this) {
+                channel.force(false);
+                channel.close();
+                forced = written;
+            }
+        }
+    }
+
+    /**
+     * Elimina un segmento cerrado
+     *
+     * @param directory directorio de los segmentos
+     * @param segment número del segmento
+     */
+    public static void delete(Path directory, long segment) {
+        try {
+            Files.deleteIfExists(segmentPath(directory, segment));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Lista los segmentos existentes en el directorio
+     *
+     * @param directory directorio de los segmentos
+     * @return segmentos por número, en orden creciente
+     */
+    public static SortedMap<Long, Path> segments(Path directory) {
+        SortedMap<Long, Path> segments = new TreeMap<>();
+        if (!Files.isDirectory(directory)) {
+            return segments;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                segments.put(Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                        name.length() - SEGMENT_SUFFIX.length())), file);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return segments;
+    }
+
+    /**
+     * Suma los ajustes de un segmento por producto
+     *
+     * La lectura se detiene en el primer registro incompleto o dañado: al final
+     * del segmento corresponde a un ajuste interrumpido por la caída antes de
+     * confirmarse; en otra posición, los registros siguientes no son fiables.
+     *
+     * @param file segmento a leer
+     * @param deltas ajustes acumulados por ID de producto
+     * @return número de bytes descartados al final del segmento
+     */
+    public static long readDeltas(Path file, Map<Long, Long> deltas) {
+        try {
+            ByteBuffer records = ByteBuffer.wrap(Files.readAllBytes(file));
+            CRC32C crc = new CRC32C();
+            while (records.remaining() >= RECORD_SIZE) {
+                int start = records.position();
+                if (records.getInt() != RECORD_MAGIC) {
+                    records.position(start);
+                    break;
+                }
+                long productId = records.getLong();
+                long delta = records.getLong();
+                crc.reset();
+                crc.update(records.array(), start + Integer.BYTES, 2 * Long.BYTES);
+                if (records.getInt() != (int) crc.getValue()) {
+                    records.position(start);
+                    break;
+                }
+                deltas.merge(productId, delta, Long::sum);
+            }
+            return records.remaining();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static FileChannel open(Path directory, long segment) {
+        try {
+            Files.createDirectories(directory);
+            return FileChannel.open(segmentPath(directory, segment),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static Path segmentPath(Path directory, long segment) {
+        return directory.resolve(SEGMENT_PREFIX + segment + SEGMENT_SUFFIX);
+    }
+}
@@ -0,0 +1,577 @@
+package com.example.inventoryapi.service;
+
+import com.example.inventoryapi.config.CacheConfig;
+import com.example.inventoryapi.dto.ProductResponseDto;
+import com.example.inventoryapi.event.ProductChangedEvent;
+import com.example.inventoryapi.exception.InsufficientStockException;
+import com.example.inventoryapi.exception.ProductNotFoundException;
+import com.example.inventoryapi.repository.ProductRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Buffer de escritura diferida para los ajustes de stock
+ *
+ * Con inventory.stock.write-behind.enabled=true, los ajustes de stock no
+ * actualizan la fila del producto en cada petición: la cantidad disponible se
+ * mantiene en memoria (lo que permite rechazar el stock insuficiente sin
+ * consultar la base de datos), el delta se acumula en un LongAdder por
+ * producto y se registra en un diario en disco antes de responder. Un hilo
+ * vuelca periódicamente los deltas acumulados con un único UPDATE por
+ * producto en una transacción por lotes; al arrancar, los segmentos del
+ * diario que no llegaron a volcarse se aplican a la tabla.
+ *
+ * Las escrituras que fijan la cantidad directamente (actualizar, eliminar o
+ * reemplazar por lotes) desvinculan antes el producto: los ajustes pendientes
+ * se vuelcan en su misma transacción y los nuevos ajustes esperan a que esta
+ * termine, tras lo cual la cantidad se vuelve a leer de la base de datos.
+ *
+ * Los eventos de cambio de producto se publican al volcar, con los ajustes de
+ * cada producto agrupados en un único cambio.
+ *
+ * Ningún hilo que retiene el cerrojo del buffer necesita una conexión más de
+ * las que ya tiene: los ajustes no acceden a la base de datos con el cerrojo
+ * tomado, el volcado periódico obtiene su conexión antes de tomarlo y la
+ * desvinculación usa la de la transacción que la invoca. Así, las peticiones
+ * que esperan el cerrojo no pueden agotar el pool que necesita quien lo tiene.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@Component
+public class StockWriteBehindBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockWriteBehindBuffer.class);
+
+    /**
+     * Solo aplica el ajuste si la cantidad resultante cabe en la columna; una fila
+     * que no lo cumple se omite en lugar de hacer fallar todo el volcado
+     */
+    private static final String UPDATE_QUANTITY =
+            "UPDATE products SET quantity = quantity + CAST(? AS BIGINT), updated_at = ?, version = version + 1 "
+                    + "WHERE id = ? AND quantity + CAST(? AS BIGINT) BETWEEN 0 AND " + Integer.MAX_VALUE;
+
+    private static final String IN_MEMORY_H2_URL = "jdbc:h2:mem:";
+
+    private static final String UPDATE_LAST_FLUSHED_SEGMENT =
+            "UPDATE stock_write_behind_state SET last_flushed_segment = ? WHERE id = 1";
+
+    /**
+     * Stock de un producto con ajustes diferidos
+     */
+    private static final class Counter {
+
+        static final long INSUFFICIENT = -1;
+
+        static final long OVERFLOW = -2;
+
+        /**
+         * Cantidad disponible, incluyendo los ajustes pendientes de volcar
+         */
+        final AtomicLong available;
+
+        /**
+         * Suma de los ajustes pendientes de volcar
+         */
+        final LongAdder pending = new LongAdder();
+
+        Counter(long available) {
+            this.available = new AtomicLong(available);
+        }
+
+        /**
+         * @return cantidad resultante, {@link #INSUFFICIENT} si no hay stock suficiente
+         *         u {@link #OVERFLOW} si la cantidad superaría el máximo de la columna
+         */
+        long reserve(long delta) {
+            long current;
+            long updated;
+            do {
+                current = available.get();
+                updated = current + delta;
+                if (updated < 0) {
+                    return INSUFFICIENT;
+                }
+                if (updated > Integer.MAX_VALUE) {
+                    return OVERFLOW;
+                }
+            } while (!available.compareAndSet(current, updated));
+            return updated;
+        }
+    }
+
+    private final ProductRepository productRepository;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final PlatformTransactionManager transactionManager;
+
+    private final TransactionDefinition flushTransaction;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final CacheManager cacheManager;
+
+    private final boolean enabled;
+
+    private final Duration flushInterval;
+
+    private final Path journalDirectory;
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Se incrementa al terminar cada desvinculación; una cantidad leída de la base
+     * de datos solo se usa si no ha cambiado mientras se leía
+     */
+    private final AtomicLong detachEpoch = new AtomicLong();
+
+    /**
+     * Los ajustes toman el cerrojo de lectura; el volcado, el de escritura
+     */
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Segmentos cerrados cuyos ajustes aún no se han confirmado en la tabla
+     */
+    private final List<Long> unflushedSegments = new ArrayList<>();
+
+    private StockJournal journal;
+
+    private ScheduledExecutorService flusher;
+
+    public StockWriteBehindBuffer(ProductRepository productRepository, JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  ApplicationEventPublisher eventPublisher, CacheManager cacheManager,
+                                  @Value("${inventory.stock.write-behind.enabled:false}") boolean enabled,
+                                  @Value("${inventory.stock.write-behind.flush-interval:200ms}") Duration flushInterval,
+                                  @Value("${inventory.stock.write-behind.journal-dir:./data/stock-journal}") Path journalDirectory) {
+        this.productRepository = productRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionManager = transactionManager;
+        this.flushTransaction = new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate = new TransactionTemplate(transactionManager, flushTransaction);
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.enabled = enabled;
+        this.flushInterval = flushInterval;
+        this.journalDirectory = journalDirectory;
+    }
+
+    /**
+     * Recupera el diario pendiente y arranca el hilo de volcado
+     */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        // Una base de datos en memoria se vuelve a sembrar en cada arranque: el diario
+        // aplicaría ajustes de una ejecución anterior a datos que no los conocen
+        String url = jdbcTemplate.execute((ConnectionCallback<String>) connection -> connection.getMetaData().getURL());
+        if (url != null && url.startsWith(IN_MEMORY_H2_URL)) {
+            throw new IllegalStateException("La escritura diferida de stock requiere una base de datos persistente "
+                    + "(perfil persistent); la actual es " + url);
+        }
+        long lastSegment = recover();
+        journal = new StockJournal(journalDirectory, lastSegment + 1);
+
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "stock-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly,
+                flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+        logger.info("Escritura diferida de stock habilitada: volcado cada {} ms, diario en {}",
+                flushInterval.toMillis(), journalDirectory.toAbsolutePath());
+    }
+
+    /**
+     * Detiene el hilo de volcado y vuelca los ajustes pendientes
+     */
+    @PreDestroy
+    public void stop() {
+        if (!enabled) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flushQuietly();
+        try {
+            journal.close();
+        } catch (IOException e) {
+            logger.error("Error al cerrar el diario de stock", e);
+        }
+    }
+
+    /**
+     * Ajusta el stock de un producto en memoria y registra el ajuste en el diario
+     *
+     * @param id ID del producto
+     * @param delta cantidad a sumar (positiva) o restar (negativa)
+     * @return cantidad resultante, o null si la escritura diferida está deshabilitada y el
+     *         ajuste debe aplicarse en la base de datos
+     * @throws ProductNotFoundException si el producto no existe
+     * @throws InsufficientStockException si no hay stock suficiente
+     * @throws IllegalArgumentException si la cantidad resultante superaría el máximo
+     */
+    public Integer adjust(Long id, int delta) {
+        if (!enabled) {
+            return null;
+        }
+        while (true) {
+            // La cantidad inicial se lee sin el cerrojo y sin transacción
+            long epoch = detachEpoch.get();
+            Counter loaded = counters.containsKey(id) ? null : loadCounter(id);
+
+            lock.readLock().lock();
+            try {
+                Counter counter = counters.get(id);
+                if (counter == null) {
+                    // Una escritura directa ha podido cambiar la cantidad leída: se vuelve a leer
+                    if (loaded == null || epoch != detachEpoch.get()) {
+                        continue;
+                    }
+                    Counter previous = counters.putIfAbsent(id, loaded);
+                    counter = previous != null ? previous : loaded;
+                }
+                long quantity = counter.reserve(delta);
+                if (quantity == Counter.INSUFFICIENT) {
+                    throw new InsufficientStockException("Stock insuficiente para el producto con ID: " + id);
+                }
+                if (quantity == Counter.OVERFLOW) {
+                    throw new IllegalArgumentException("El ajuste dejaría el stock del producto con ID " + id
+                            + " por encima del máximo permitido (" + Integer.MAX_VALUE + ")");
+                }
+                long recordNumber;
+                try {
+                    recordNumber = journal.append(id, delta);
+                } catch (RuntimeException e) {
+                    counter.available.addAndGet(-delta);
+                    throw e;
+                }
+                counter.pending.add(delta);
+                // El ajuste solo se confirma al cliente cuando el diario está en disco. El cerrojo
+                // de lectura se mantiene para que ningún volcado tome el ajuste antes de saberlo
+                try {
+                    journal.force(recordNumber);
+                } catch (RuntimeException e) {
+                    revert(id, counter, delta);
+                    throw e;
+                }
+                return (int) quantity;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Deshace un ajuste cuyo registro no llegó al disco; requiere el cerrojo de lectura
+     *
+     * El registro puede haberse escrito igualmente, por lo que se añade otro con el
+     * delta contrario para que la recuperación no aplique un ajuste rechazado.
+     */
+    private void revert(Long id, Counter counter, int delta) {
+        counter.available.addAndGet(-delta);
+        counter.pending.add(-delta);
+        try {
+            journal.append(id, -delta);
+        } catch (RuntimeException e) {
+            logger.error("No se pudo anular en el diario el ajuste rechazado del producto {} ({})", id, delta, e);
+        }
+    }
+
+    /**
+     * @param id ID del producto
+     * @return true si el producto tiene su cantidad en memoria
+     */
+    public boolean isBuffered(Long id) {
+        return counters.containsKey(id);
+    }
+
+    /**
+     * Sustituye la cantidad de un producto por la que incluye los ajustes pendientes
+     *
+     * @param product producto leído de la base de datos
+     * @return el mismo producto, con la cantidad actualizada si tiene ajustes en memoria
+     */
+    public ProductResponseDto overlay(ProductResponseDto product) {
+        Counter counter = counters.get(product.getId());
+        if (counter != null) {
+            product.setQuantity((int) counter.available.get());
+        }
+        return product;
+    }
+
+    /**
+     * Desvincula productos antes de escribir su cantidad directamente
+     *
+     * Vuelca los ajustes pendientes dentro de la transacción actual y mantiene
+     * el cerrojo de escritura hasta que esta termina: mientras tanto los
+     * ajustes esperan, y al confirmarse se descarta la cantidad en memoria de
+     * los productos, que se vuelve a leer en su siguiente ajuste. Si la
+     * transacción se deshace, los ajustes vuelven a quedar pendientes.
+     *
+     * @param ids IDs de los productos que se van a escribir
+     * @return ajustes volcados por ID de los productos indicados cuya fila se ha
+     *         modificado (y su versión incrementado); vacío si no había ninguno
+     * @throws IllegalStateException si no hay una transacción activa
+     */
+    public Map<Long, Long> detach(Collection<Long> ids) {
+        if (!enabled || ids.isEmpty()) {
+            return Map.of();
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("La desvinculación de productos requiere una transacción activa");
+        }
+        lock.writeLock().lock();
+        Map<Long, Long> deltas = new HashMap<>();
+        Set<Long> rejected = new HashSet<>();
+        try {
+            drainAndApply(deltas, rejected);
+            Map<Long, Long> detached = new HashMap<>();
+            for (Long id : ids) {
+                Long delta = deltas.get(id);
+                if (delta != null && !rejected.contains(id)) {
+                    detached.put(id, delta);
+                }
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    try {
+                        boolean committed = status == STATUS_COMMITTED;
+                        completeFlush(deltas, rejected, committed);
+                        if (committed) {
+                            counters.keySet().removeAll(ids);
+                        }
+                        detachEpoch.incrementAndGet();
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                }
+            });
+            return detached;
+        } catch (RuntimeException e) {
+            completeFlush(deltas, rejected, false);
+            lock.writeLock().unlock();
+            throw e;
+        }
+    }
+
+    private Counter loadCounter(Long id) {
+        return productRepository.findById(id)
+                .map(product -> new Counter(product.getQuantity()))
+                .orElseThrow(() -> new ProductNotFoundException("Producto no encontrado con ID: " + id));
+    }
+
+    /**
+     * Vuelca los ajustes pendientes en una transacción propia
+     *
+     * La transacción, y con ella la conexión, se obtiene antes del cerrojo de
+     * escritura, que se mantiene hasta la confirmación.
+     */
+    private void flushQuietly() {
+        if (journal.isSegmentEmpty() && unflushedSegments.isEmpty()) {
+            return;
+        }
+        Map<Long, Long> deltas = new HashMap<>();
+        Set<Long> rejected = new HashSet<>();
+        boolean committed = false;
+        TransactionStatus status = transactionManager.getTransaction(flushTransaction);
+        lock.writeLock().lock();
+        try {
+            drainAndApply(deltas, rejected);
+            transactionManager.commit(status);
+            committed = true;
+        } catch (RuntimeException e) {
+            if (!status.isCompleted()) {
+                transactionManager.rollback(status);
+            }
+            logger.error("Error al volcar los ajustes de stock; se reintentará en el siguiente volcado", e);
+        } finally {
+            try {
+                completeFlush(deltas, rejected, committed);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Toma los ajustes pendientes, cambia de segmento y los aplica en la transacción actual;
+     * requiere el cerrojo de escritura
+     *
+     * @param deltas recibe los ajustes tomados por ID de producto
+     * @param rejected recibe los IDs cuya fila no admitió el ajuste
+     */
+    private void drainAndApply(Map<Long, Long> deltas, Set<Long> rejected) {
+        if (journal.isSegmentEmpty() && unflushedSegments.isEmpty()) {
+            return;
+        }
+        counters.forEach((id, counter) -> {
+            long delta = counter.pending.sumThenReset();
+            if (delta != 0) {
+                deltas.put(id, delta);
+            }
+        });
+        unflushedSegments.add(journal.rotate());
+        if (!deltas.isEmpty()) {
+            rejected.addAll(applyDeltas(deltas, unflushedSegments.get(unflushedSegments.size() - 1)));
+            Map<Long, Long> applied = new HashMap<>(deltas);
+            applied.keySet().removeAll(rejected);
+            publishChanges(applied);
+        }
+    }
+
+    /**
+     * Termina un volcado tras el fin de su transacción; requiere el cerrojo de escritura
+     *
+     * Un ajuste rechazado por su fila se descarta: su segmento ya consta como
+     * volcado, y la cantidad en memoria del producto se vuelve a leer de la tabla.
+     *
+     * @param deltas ajustes tomados por {@link #drainAndApply(Map, Set)}
+     * @param rejected IDs cuya fila no admitió el ajuste
+     * @param committed si la transacción se confirmó
+     */
+    private void completeFlush(Map<Long, Long> deltas, Set<Long> rejected, boolean committed) {
+        if (!committed) {
+            // Los ajustes vuelven a quedar pendientes y sus segmentos se conservan
+            deltas.forEach((id, delta) -> counters.get(id).pending.add(delta));
+            return;
+        }
+        if (!rejected.isEmpty()) {
+            rejected.forEach(id -> logger.error("Descartado el ajuste de stock del producto {} ({}): el producto "
+                    + "no existe o la cantidad resultante no es válida", id, deltas.get(id)));
+            counters.keySet().removeAll(rejected);
+            detachEpoch.incrementAndGet();
+        }
+        Cache cache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        if (cache != null) {
+            deltas.keySet().forEach(cache::evict);
+        }
+        unflushedSegments.forEach(closed -> StockJournal.delete(journalDirectory, closed));
+        unflushedSegments.clear();
+    }
+
+    /**
+     * Aplica los ajustes a la tabla y marca el segmento como volcado
+     *
+     * @return IDs de los productos cuya fila no se actualizó
+     */
+    private Set<Long> applyDeltas(Map<Long, Long> deltas, long segment) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = new ArrayList<>(deltas.keySet());
+        List<Object[]> updates = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Long delta = deltas.get(id);
+            updates.add(new Object[] {delta, now, id, delta});
+        }
+        int[] counts = jdbcTemplate.batchUpdate(UPDATE_QUANTITY, updates);
+        jdbcTemplate.update(UPDATE_LAST_FLUSHED_SEGMENT, segment);
+
+        Set<Long> rejected = new HashSet<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                rejected.add(ids.get(i));
+            }
+        }
+        return rejected;
+    }
+
+    private void publishChanges(Map<Long, Long> deltas) {
+        for (ProductResponseDto current : productRepository.findDtosByIdIn(deltas.keySet())) {
+            ProductResponseDto previous = new ProductResponseDto(
+                    current.getId(),
+                    current.getName(),
+                    current.getDescription(),
+                    current.getPrice(),
+                    (int) (current.getQuantity() - deltas.get(current.getId())),
+                    current.getCreatedAt(),
+                    current.getUpdatedAt(),
+                    current.getVersion() - 1
+            );
+            eventPublisher.publishEvent(ProductChangedEvent.updated(previous, current));
+        }
+    }
+
+    /**
+     * Aplica a la tabla los segmentos del diario que no llegaron a volcarse
+     *
+     * @return número del último segmento existente o volcado
+     */
+    private long recover() {
+        long lastFlushed = jdbcTemplate.queryForObject(
+                "SELECT last_flushed_segment FROM stock_write_behind_state WHERE id = 1", Long.class);
+        SortedMap<Long, Path> segments = StockJournal.segments(journalDirectory);
+
+        Map<Long, Long> deltas = new HashMap<>();
+        long lastSegment = lastFlushed;
+        for (Map.Entry<Long, Path> segment : segments.entrySet()) {
+            if (segment.getKey() > lastFlushed) {
+                long discarded = StockJournal.readDeltas(segment.getValue(), deltas);
+                if (discarded > 0) {
+                    logger.warn("Descartados {} bytes incompletos o dañados al final del segmento {} del diario de stock",
+                            discarded, segment.getValue());
+                }
+            }
+            lastSegment = Math.max(lastSegment, segment.getKey());
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+
+        if (lastSegment > lastFlushed) {
+            long recovered = lastSegment;
+            Set<Long> rejected = transactionTemplate.execute(status -> applyDeltas(deltas, recovered));
+            rejected.forEach(id -> logger.error("Descartado el ajuste de stock recuperado del producto {} ({}): "
+                    + "el producto no existe o la cantidad resultante no es válida", id, deltas.get(id)));
+            logger.warn("Recuperados del diario los ajustes de stock de {} productos ({} segmentos sin volcar)",
+                    deltas.size(), segments.tailMap(lastFlushed + 1).size());
+        }
+        segments.keySet().forEach(segment -> StockJournal.delete(journalDirectory, segment));
+        return lastSegment;
+    }
+}
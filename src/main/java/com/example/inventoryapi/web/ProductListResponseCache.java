@@ -0,0 +1,256 @@
+package com.example.inventoryapi.web;
+
+import com.example.inventoryapi.dto.ProductResponseDto;
+import com.example.inventoryapi.event.ProductChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caché de respuestas ya serializadas de los listados de productos
+ *
+ * Guarda cada listado ya serializado (y su versión comprimida con gzip) por
+ * formato, endpoint y parámetros, de modo que una petición repetida se
+ * responde copiando bytes sin consultar la base de datos ni volver a
+ * serializar. El formato (JSON, CBOR o Smile) se elige con la cabecera Accept.
+ * Cualquier cambio confirmado de productos incrementa la versión del
+ * catálogo, lo que invalida todas las respuestas guardadas a la vez.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@Component
+public class ProductListResponseCache {
+
+    /**
+     * Respuesta serializada y la versión del catálogo con la que se generó
+     */
+    private record Entry(long version, byte[] body, byte[] gzip, String etag) {
+    }
+
+    /**
+     * Formatos de respuesta admitidos, en orden de preferencia
+     */
+    private enum Format {
+        JSON(MediaType.APPLICATION_JSON),
+        CBOR(MediaType.APPLICATION_CBOR),
+        SMILE(new MediaType("application", "x-jackson-smile"));
+
+        private final MediaType mediaType;
+
+        Format(MediaType mediaType) {
+            this.mediaType = mediaType;
+        }
+    }
+
+    private static final TypeReference<List<ProductResponseDto>> PRODUCT_LIST = new TypeReference<>() { };
+
+    private final AtomicLong catalogVersion = new AtomicLong();
+
+    private final Map<Format, ObjectWriter> listWriters = new EnumMap<>(Format.class);
+
+    private final Cache<String, Entry> cache;
+
+    private final boolean enabled;
+
+    private final boolean gzipEnabled;
+
+    private final int gzipMinSize;
+
+    public ProductListResponseCache(ObjectMapper objectMapper,
+                                    MappingJackson2CborHttpMessageConverter cborConverter,
+                                    MappingJackson2SmileHttpMessageConverter smileConverter,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${inventory.response-cache.enabled:true}") boolean enabled,
+                                    @Value("${inventory.response-cache.max-size:64MB}") DataSize maxSize,
+                                    @Value("${inventory.response-cache.gzip:true}") boolean gzipEnabled,
+                                    @Value("${inventory.response-cache.gzip-min-size:2KB}") DataSize gzipMinSize) {
+        this.listWriters.put(Format.JSON, objectMapper.writerFor(PRODUCT_LIST));
+        this.listWriters.put(Format.CBOR, cborConverter.getObjectMapper().writerFor(PRODUCT_LIST));
+        this.listWriters.put(Format.SMILE, smileConverter.getObjectMapper().writerFor(PRODUCT_LIST));
+        this.enabled = enabled;
+        this.gzipEnabled = gzipEnabled;
+        this.gzipMinSize = (int) gzipMinSize.toBytes();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .weigher((String key, Entry entry) -> entry.body().length
+                        + (entry.gzip() != null ? entry.gzip().length : 0))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "productListResponses");
+    }
+
+    /**
+     * Invalida las respuestas guardadas cuando se confirma un cambio de productos
+     *
+     * Se ejecuta después de que la copia en columnas y el índice de búsqueda
+     * apliquen el cambio; si no, una petición entre ambos pasos guardaría con
+     * la nueva versión un listado generado con los datos anteriores.
+     *
+     * @param event evento de cambio de producto
+     */
+    @TransactionalEventListener
+    @Order(ProductChangedEvent.INVALIDATE_ORDER)
+    public void onProductChanged(ProductChangedEvent event) {
+        catalogVersion.incrementAndGet();
+    }
+
+    /**
+     * Elimina todas las respuestas guardadas
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Obtiene la respuesta de un listado, desde la caché o generándola
+     *
+     * @param key endpoint y parámetros del listado
+     * @param requestHeaders cabeceras de la petición (Accept y Accept-Encoding)
+     * @param loader consulta del listado, solo se ejecuta si no hay respuesta válida
+     * @param etag cálculo del ETag del listado
+     * @return respuesta en el formato pedido, comprimida con gzip si el cliente lo admite
+     */
+    public ResponseEntity<byte[]> get(String key, HttpHeaders requestHeaders,
+                                      Supplier<List<ProductResponseDto>> loader,
+                                      Function<List<ProductResponseDto>, String> etag) {
+        Format format = negotiate(requestHeaders.getAccept());
+        String cacheKey = format.name() + ':' + key;
+
+        // La versión se lee antes de consultar: si un cambio se confirma durante la
+        // consulta, la entrada queda obsoleta desde el principio y no se reutiliza
+        long version = catalogVersion.get();
+        Entry entry = enabled ? cache.getIfPresent(cacheKey) : null;
+        if (entry == null || entry.version() != version) {
+            entry = serialize(format, version, loader.get(), etag);
+            if (enabled) {
+                cache.put(cacheKey, entry);
+            }
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(entry.etag())
+                .contentType(format.mediaType)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (entry.gzip() != null && acceptsGzip(requestHeaders.getFirst(HttpHeaders.ACCEPT_ENCODING))) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(entry.gzip());
+        }
+        return response.body(entry.body());
+    }
+
+    private Entry serialize(Format format, long version, List<ProductResponseDto> products,
+                            Function<List<ProductResponseDto>, String> etag) {
+        try {
+            byte[] body = listWriters.get(format).writeValueAsBytes(products);
+            byte[] gzip = gzipEnabled && body.length >= gzipMinSize ? gzip(body) : null;
+            return new Entry(version, body, gzip, etag.apply(products));
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Elige el formato de respuesta según la cabecera Accept; JSON por defecto
+     */
+    private static Format negotiate(List<MediaType> accept) {
+        // Orden estable por calidad: a igual q se respeta el orden de la cabecera
+        List<MediaType> requested = new ArrayList<>(accept);
+        requested.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed());
+        for (MediaType mediaType : requested) {
+            if (mediaType.getQualityValue() == 0) {
+                continue;
+            }
+            for (Format format : Format.values()) {
+                if (format.mediaType.isCompatibleWith(mediaType)) {
+                    return format;
+                }
+            }
+        }
+        return Format.JSON;
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(data.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(data);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Indica si la cabecera Accept-Encoding admite gzip
+     *
+     * Una codificación con q=0 se rechaza; "*" admite gzip salvo que este
+     * aparezca por separado.
+     *
+     * @param acceptEncoding valor de la cabecera, o null si no se envió
+     * @return true si el cliente acepta la respuesta comprimida con gzip
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean gzip = null;
+        boolean wildcard = false;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            boolean accepted = qualityOf(parts) > 0;
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = gzip == null ? accepted : gzip || accepted;
+            } else if (coding.equals("*")) {
+                wildcard = accepted;
+            }
+        }
+        return gzip != null ? gzip : wildcard;
+    }
+
+    /**
+     * Obtiene el valor q de un elemento de Accept-Encoding (1 si no se indica o no es válido)
+     */
+    private static double qualityOf(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.length() > 2 && (parameter.charAt(0) == 'q' || parameter.charAt(0) == 'Q')
+                    && parameter.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException ex) {
+                    return 1;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,17 @@
+-- Esquema inicial de la tabla de productos
+-- La secuencia incrementa de 50 en 50 para coincidir con el allocationSize de la entidad,
+-- de modo que Hibernate reserve bloques de IDs y pueda agrupar los INSERT en lotes JDBC
+
+CREATE SEQUENCE products_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE products (
+    id          BIGINT         NOT NULL,
+    name        VARCHAR(100)   NOT NULL,
+    description VARCHAR(500),
+    price       NUMERIC(12, 2) NOT NULL,
+    quantity    INTEGER        NOT NULL,
+    created_at  TIMESTAMP(6)   NOT NULL,
+    updated_at  TIMESTAMP(6),
+    version     BIGINT         NOT NULL,
+    CONSTRAINT pk_products PRIMARY KEY (id)
+);
@@ -0,0 +1,15 @@
+-- Índices para las consultas del repositorio de productos
+
+-- Nombre en minúsculas como columna generada: H2 no admite índices funcionales,
+-- por lo que el índice único sobre LOWER(name) se define sobre esta columna.
+-- Sirve a existsByNameIgnoreCase, findByNameIgnoreCase y findByLowerNameIn
+ALTER TABLE products ADD COLUMN name_lower VARCHAR(100) GENERATED ALWAYS AS (LOWER(name));
+CREATE UNIQUE INDEX ux_products_name_lower ON products (name_lower);
+
+-- Rango de precios (findByPriceBetween)
+CREATE INDEX ix_products_price ON products (price);
+
+-- Stock bajo y productos en stock (findByQuantityLessThanEqual, findProductsInStock,
+-- countProductsInStock). H2 no admite índices parciales; al incluir el precio el
+-- índice también cubre el cálculo del valor total sin acceder a la tabla
+CREATE INDEX ix_products_quantity_price ON products (quantity, price);
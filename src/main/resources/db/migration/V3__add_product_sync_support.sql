@@ -0,0 +1,18 @@
+-- Soporte para la sincronización incremental (GET /products/modified-since)
+
+-- Todas las filas deben tener fecha de modificación para aparecer en la sincronización
+UPDATE products SET updated_at = created_at WHERE updated_at IS NULL;
+ALTER TABLE products ALTER COLUMN updated_at SET NOT NULL;
+
+-- Recorrido por fecha de modificación con desempate por ID (findDtosModifiedAfter)
+CREATE INDEX ix_products_updated_at_id ON products (updated_at, id);
+
+-- Productos eliminados: un registro por ID para que los clientes puedan borrar su copia
+CREATE TABLE product_tombstones (
+    product_id BIGINT       NOT NULL,
+    deleted_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_product_tombstones PRIMARY KEY (product_id)
+);
+
+-- Recorrido por fecha de borrado con desempate por ID (findDeletedAfter)
+CREATE INDEX ix_product_tombstones_deleted_at_id ON product_tombstones (deleted_at, product_id);
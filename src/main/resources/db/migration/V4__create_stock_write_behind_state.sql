@@ -0,0 +1,12 @@
+-- Estado del volcado de ajustes de stock diferidos (inventory.stock.write-behind)
+
+-- Último segmento del diario de ajustes aplicado a la tabla de productos. Se
+-- actualiza en la misma transacción que el volcado, de modo que al recuperar
+-- el diario tras una caída no se vuelve a aplicar un segmento ya volcado
+CREATE TABLE stock_write_behind_state (
+    id                   INTEGER NOT NULL,
+    last_flushed_segment BIGINT  NOT NULL,
+    CONSTRAINT pk_stock_write_behind_state PRIMARY KEY (id)
+);
+
+INSERT INTO stock_write_behind_state (id, last_flushed_segment) VALUES (1, 0);
@@ -0,0 +1,30 @@
+-- Datos de prueba para la base de datos H2
+-- Esta migración solo se incluye en las ubicaciones de Flyway del perfil por defecto
+
+-- Insertar productos de ejemplo
+INSERT INTO products (id, name, description, price, quantity, created_at, updated_at, version) VALUES
+(1, 'Laptop Dell XPS 13', 'Laptop ultrabook con procesador Intel i7, 16GB RAM, SSD 512GB', 999.99, 25, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0),
+(2, 'iPhone 14 Pro', 'Smartphone Apple con cámara Pro, 128GB, color Space Black', 1099.00, 50, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0),
+(3, 'Monitor Samsung 4K', 'Monitor 27 pulgadas 4K UHD, panel IPS, conexión USB-C', 449.99, 15, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0),
+(4, 'Teclado Mecánico Logitech', 'Teclado mecánico RGB con switches Cherry MX Blue', 129.99, 30, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0),
+(5, 'Mouse Inalámbrico Microsoft', 'Mouse ergonómico inalámbrico con precisión óptica', 39.99, 75, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0),
+(6, 'Auriculares Sony WH-1000XM4', 'Auriculares con cancelación de ruido activa, Bluetooth 5.0', 349.99, 20, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0),
+(7, 'Tablet iPad Air', 'Tablet Apple 10.9 pulgadas, 64GB, WiFi + Cellular', 599.99, 35, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0),
+(8, 'SSD Samsung 1TB', 'Disco sólido interno SATA 2.5, velocidad de lectura 550MB/s', 89.99, 40, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0),
+(9, 'Webcam Logitech C920', 'Cámara web HD 1080p con micrófono incorporado', 79.99, 60, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0),
+(10, 'Router WiFi 6 ASUS', 'Router inalámbrico AC3000 con tecnología WiFi 6, 4 antenas', 199.99, 12, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0),
+(11, 'Impresora HP LaserJet', 'Impresora láser monocromática, velocidad 22 ppm', 159.99, 18, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0),
+(12, 'Disco Duro Externo 2TB', 'Disco duro portátil USB 3.0, compatible con PC y Mac', 79.99, 45, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0),
+(13, 'Cargador Inalámbrico', 'Base de carga inalámbrica Qi compatible con iPhone y Android', 29.99, 80, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0),
+(14, 'Cable USB-C', 'Cable USB-C a USB-C, 1.5 metros, carga rápida', 19.99, 100, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0),
+(15, 'Hub USB 3.0', 'Hub de 4 puertos USB 3.0 con alimentación externa', 24.99, 55, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0);
+
+-- Ajustar la secuencia para que los nuevos productos continúen tras los IDs precargados
+ALTER SEQUENCE products_seq RESTART WITH 16;
+
+-- Comentarios sobre los datos insertados:
+-- - Se incluyen productos variados de tecnología
+-- - Precios realistas en USD
+-- - Cantidades variadas para simular diferentes niveles de stock
+-- - Algunos productos tienen stock bajo (< 20 unidades) para probar funcionalidades
+-- - Timestamps automáticos para created_at y updated_at
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.example.inventoryapi.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas de la creación de productos por lotes
+ *
+ * Los nombres duplicados, ya existan en la base de datos o se repitan dentro
+ * del lote, se rechazan en su elemento sin impedir que se guarde el resto.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+@DirtiesContext
+class ProductBatchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void duplicateNamesAreRejectedPerItem() throws Exception {
+        String batch = """
+                [
+                  {"name": "Lote A", "price": 10.50, "quantity": 100},
+                  {"name": "LOTE a", "price": 11.00, "quantity": 1},
+                  {"name": "Laptop Dell XPS 13", "price": 20.00, "quantity": 5},
+                  {"name": "Lote B", "quantity": 5},
+                  {"name": "Lote C", "price": 30.00, "quantity": 7}
+                ]
+                """;
+
+        mockMvc.perform(post("/products/batch").contentType(MediaType.APPLICATION_JSON).content(batch))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.items[1].status").value("FAILED"))
+                .andExpect(jsonPath("$.items[1].error").value("name: El nombre ya aparece en el elemento 0 del lote"))
+                .andExpect(jsonPath("$.items[2].status").value("FAILED"))
+                .andExpect(jsonPath("$.items[2].error").value("name: Ya existe un producto con ese nombre"))
+                .andExpect(jsonPath("$.items[3].status").value("FAILED"))
+                .andExpect(jsonPath("$.items[3].error").value("price: El precio es obligatorio"))
+                .andExpect(jsonPath("$.items[4].status").value("CREATED"));
+    }
+}
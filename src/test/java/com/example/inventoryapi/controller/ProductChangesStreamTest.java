@@ -0,0 +1,53 @@
+package com.example.inventoryapi.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas del historial de cambios como Server-Sent Events
+ *
+ * Un cursor inválido debe responderse con su código de estado antes de abrir
+ * el flujo, ya que el manejador global de excepciones no puede escribir su
+ * respuesta JSON en text/event-stream.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ProductChangesStreamTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void expiredCursorReturnsGone() throws Exception {
+        mockMvc.perform(get("/products/changes").param("since", "0").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isGone())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void futureCursorReturnsBadRequest() throws Exception {
+        mockMvc.perform(get("/products/changes").param("since", String.valueOf(Long.MAX_VALUE))
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void expiredCursorReturnsErrorResponseAsJson() throws Exception {
+        mockMvc.perform(get("/products/changes").param("since", "0").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isGone())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.inventoryapi.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas del ajuste atómico de stock
+ *
+ * El UPDATE condicional rechaza tanto las salidas sin stock suficiente como
+ * las entradas que dejarían la cantidad por encima del máximo de la columna.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+@DirtiesContext
+class ProductStockAdjustmentTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void adjustmentAboveMaximumQuantityReturnsBadRequest() throws Exception {
+        mockMvc.perform(adjust(1L, Integer.MAX_VALUE))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(
+                        "El ajuste dejaría el stock del producto con ID 1 por encima del máximo permitido (2147483647)"));
+    }
+
+    @Test
+    void adjustmentBelowZeroReturnsConflict() throws Exception {
+        mockMvc.perform(adjust(1L, Integer.MIN_VALUE))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Stock insuficiente para el producto con ID: 1"));
+    }
+
+    @Test
+    void adjustmentWithinRangeIsApplied() throws Exception {
+        mockMvc.perform(adjust(2L, 1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.delta").value(1));
+    }
+
+    private static RequestBuilder adjust(Long id, int delta) {
+        return post("/products/{id}/stock/adjust", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"delta\": " + delta + "}");
+    }
+}
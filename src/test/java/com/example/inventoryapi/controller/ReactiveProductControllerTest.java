@@ -0,0 +1,65 @@
+package com.example.inventoryapi.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas de la validación de parámetros de la API reactiva
+ *
+ * Los parámetros inválidos deben responderse con 400 antes de abrir el flujo,
+ * ya que el manejador global de excepciones no puede escribir su respuesta
+ * JSON en NDJSON ni en text/event-stream.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ReactiveProductControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void negativeCursorReturnsBadRequestAsNdjson() throws Exception {
+        mockMvc.perform(get("/reactive/products").param("after", "-1").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void negativeCursorReturnsBadRequestAsServerSentEvents() throws Exception {
+        mockMvc.perform(get("/reactive/products").param("after", "-1").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void invalidFiltersReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/reactive/products/search").param("name", "laptop").param("limit", "0")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/reactive/products/price-range").param("minPrice", "500").param("maxPrice", "100")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/reactive/products/low-stock").param("threshold", "-1")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void jsonIsNotAcceptable() throws Exception {
+        mockMvc.perform(get("/reactive/products").param("after", "-1").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotAcceptable());
+    }
+}
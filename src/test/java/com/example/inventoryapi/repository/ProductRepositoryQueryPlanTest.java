@@ -0,0 +1,151 @@
+package com.example.inventoryapi.repository;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de los planes de ejecución de las consultas de los repositorios
+ *
+ * Captura el SQL que genera Hibernate para cada consulta filtrada de
+ * ProductRepository y ProductTombstoneRepository, ejecuta EXPLAIN sobre él
+ * con las migraciones aplicadas y comprueba que H2 usa un índice en lugar
+ * de recorrer la tabla completa.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.example.inventoryapi.repository.ProductRepositoryQueryPlanTest$CapturingStatementInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ProductRepositoryQueryPlanTest {
+
+    /**
+     * Marcador que H2 incluye en el plan cuando recorre la tabla completa
+     */
+    private static final String TABLE_SCAN = ".tableScan";
+
+    private static final LocalDateTime CURSOR = LocalDateTime.of(2024, 1, 15, 10, 30);
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clearCapturedStatements() {
+        CapturingStatementInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void priceRangeUsesIndex() {
+        productRepository.findDtosByPriceBetween(new BigDecimal("100"), new BigDecimal("500"));
+        assertUsesIndex();
+    }
+
+    @Test
+    void lowStockUsesIndex() {
+        productRepository.findDtosByQuantityLessThanEqual(10);
+        assertUsesIndex();
+    }
+
+    @Test
+    void inStockQueriesUseIndex() {
+        productRepository.findDtosInStock();
+        productRepository.countProductsInStock();
+        assertUsesIndex();
+    }
+
+    @Test
+    void nameLookupsUseIndex() {
+        productRepository.existsByNameIgnoreCase("Laptop");
+        productRepository.findByNameIgnoreCase("Laptop");
+        productRepository.findByLowerNameIn(List.of("laptop", "monitor"));
+        assertUsesIndex();
+    }
+
+    @Test
+    void idQueriesUseIndex() {
+        productRepository.findDtosByIdGreaterThan(5L, PageRequest.ofSize(10));
+        productRepository.findDtosByIdIn(List.of(1L, 2L, 3L));
+        try (Stream<?> products = productRepository.streamAllOrderedById()) {
+            products.findFirst();
+        }
+        assertUsesIndex();
+    }
+
+    @Test
+    void syncCursorsUseIndex() {
+        productRepository.findDtosModifiedAfter(CURSOR, 5L, CURSOR.plusDays(1), PageRequest.ofSize(10));
+        tombstoneRepository.findDeletedAfter(CURSOR, 5L, CURSOR.plusDays(1), PageRequest.ofSize(10));
+        assertUsesIndex();
+    }
+
+    @Test
+    void stockQueriesUseIndex() {
+        productRepository.adjustQuantity(1L, -1, LocalDateTime.now());
+        productRepository.calculateTotalInventoryValue();
+        assertUsesIndex();
+    }
+
+    /**
+     * Comprueba que ninguna de las sentencias capturadas recorre la tabla completa
+     */
+    private void assertUsesIndex() {
+        List<String> statements = List.copyOf(CapturingStatementInspector.STATEMENTS);
+        assertThat(statements).isNotEmpty();
+        for (String sql : statements) {
+            assertThat(explain(sql)).as("Plan de %s", sql).doesNotContain(TABLE_SCAN);
+        }
+    }
+
+    /**
+     * Obtiene el plan de una sentencia; los parámetros se enlazan a NULL, ya que
+     * H2 elige el índice al preparar la sentencia y no según sus valores
+     */
+    private String explain(String sql) {
+        return jdbcTemplate.execute("EXPLAIN " + sql, (PreparedStatement statement) -> {
+            int parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setObject(i, null);
+            }
+            try (ResultSet plan = statement.executeQuery()) {
+                plan.next();
+                return plan.getString(1);
+            }
+        });
+    }
+
+    /**
+     * Registra el SQL que Hibernate envía a la base de datos
+     */
+    public static class CapturingStatementInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.inventoryapi.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas del agregado de estadísticas del inventario
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@SpringBootTest
+@DirtiesContext
+class InventoryStatsAggregateTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private InventoryStatsAggregate statsAggregate;
+
+    @Test
+    void recomputeDuringConcurrentAdjustmentsFindsNoDrift() throws Exception {
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService writers = Executors.newFixedThreadPool(4);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            long id = t + 1;
+            tasks.add(writers.submit(() -> {
+                // Alterna salidas y entradas para que el producto pase por stock 0 y vuelva
+                for (int i = 0; running.get(); i++) {
+                    productService.adjustStock(id, i % 2 == 0 ? -1 : 1);
+                }
+            }));
+        }
+
+        try {
+            for (int i = 0; i < 50; i++) {
+                InventoryStatsAggregate.Snapshot drift = statsAggregate.recompute();
+                assertThat(drift.totalProducts()).isZero();
+                assertThat(drift.totalValue().signum()).isZero();
+                assertThat(drift.inStockProducts()).isZero();
+            }
+        } finally {
+            running.set(false);
+            writers.shutdown();
+            assertThat(writers.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+        for (Future<?> task : tasks) {
+            task.get();
+        }
+    }
+}
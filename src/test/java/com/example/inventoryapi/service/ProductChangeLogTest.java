@@ -0,0 +1,41 @@
+package com.example.inventoryapi.service;
+
+import com.example.inventoryapi.dto.ProductChangeDto;
+import com.example.inventoryapi.dto.ProductResponseDto;
+import com.example.inventoryapi.event.ProductChangedEvent;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas del historial de cambios de productos
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+class ProductChangeLogTest {
+
+    @Test
+    void everyChangeCarriesTheProductVersion() {
+        ProductChangeLog changeLog = new ProductChangeLog(16, Duration.ofSeconds(1), 100);
+        long since = changeLog.getLastSequence();
+
+        changeLog.onProductChanged(ProductChangedEvent.created(product(1L, 0)));
+        changeLog.onProductChanged(ProductChangedEvent.updated(product(1L, 0), product(1L, 1)));
+        changeLog.onProductChanged(ProductChangedEvent.deleted(product(1L, 1)));
+
+        List<ProductChangeDto> changes = changeLog.getChanges(since, 10).getChanges();
+        assertThat(changes).extracting(ProductChangeDto::getVersion).containsExactly(0L, 1L, 1L);
+        assertThat(changes.get(2).getProduct()).isNull();
+    }
+
+    private static ProductResponseDto product(long id, long version) {
+        LocalDateTime now = LocalDateTime.now();
+        return new ProductResponseDto(id, "Producto " + id, "Prueba", new BigDecimal("10.00"), 5, now, now, version);
+    }
+}
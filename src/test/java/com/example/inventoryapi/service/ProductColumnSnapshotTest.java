@@ -0,0 +1,64 @@
+package com.example.inventoryapi.service;
+
+import com.example.inventoryapi.dto.ProductResponseDto;
+import com.example.inventoryapi.event.ProductChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de la copia en columnas del catálogo
+ *
+ * Los cambios se entregan directamente a la copia, sin pasar por la base de
+ * datos, con IDs y precios que no existen en el catálogo de prueba.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@SpringBootTest
+@DirtiesContext
+class ProductColumnSnapshotTest {
+
+    private static final BigDecimal PRICE = new BigDecimal("777777.77");
+
+    @Autowired
+    private ProductColumnSnapshot snapshot;
+
+    @Test
+    void lateUpdateAfterCompactionDoesNotResurrectDeletedProduct() {
+        long first = 9_100_000L;
+        int count = 40;
+        for (long id = first; id < first + count; id++) {
+            snapshot.onProductChanged(ProductChangedEvent.created(product(id, 0)));
+        }
+        // Borrar más de una cuarta parte de las filas fuerza la compactación
+        for (long id = first; id < first + count; id++) {
+            snapshot.onProductChanged(ProductChangedEvent.deleted(product(id, 1)));
+        }
+        snapshot.onProductChanged(ProductChangedEvent.updated(product(first, 0), product(first, 1)));
+        snapshot.onProductChanged(ProductChangedEvent.updated(
+                product(first + count - 1, 0), product(first + count - 1, 1)));
+
+        assertThat(snapshot.findByPriceRange(PRICE, PRICE)).isEmpty();
+    }
+
+    @Test
+    void creationArrivingAfterDeletionIsDropped() {
+        long id = 9_200_000L;
+        snapshot.onProductChanged(ProductChangedEvent.deleted(product(id, 0)));
+        snapshot.onProductChanged(ProductChangedEvent.created(product(id, 0)));
+
+        assertThat(snapshot.findByPriceRange(PRICE, PRICE)).isEmpty();
+    }
+
+    private static ProductResponseDto product(long id, long version) {
+        LocalDateTime now = LocalDateTime.now();
+        return new ProductResponseDto(id, "Producto " + id, "Prueba", PRICE, 5, now, now, version);
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.inventoryapi.service;
+
+import com.example.inventoryapi.dto.ProductResponseDto;
+import com.example.inventoryapi.event.ProductChangedEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas del índice de búsqueda en memoria
+ *
+ * Los cambios se entregan directamente al índice, sin pasar por la base de
+ * datos, con IDs que no existen en el catálogo de prueba.
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@SpringBootTest
+class ProductSearchIndexTest {
+
+    @Autowired
+    private ProductSearchIndex searchIndex;
+
+    @Test
+    void descriptionWordsLongerThanTheirIndexedPrefixAreFound() {
+        assertThat(searchIndex.search("procesador", 0, 10)).contains(1L);
+        assertThat(searchIndex.search("procesamiento", 0, 10)).doesNotContain(1L);
+    }
+
+    @Test
+    void renamedProductIsFoundOnlyByItsNewName() {
+        long id = 9_000_001L;
+        searchIndex.onProductChanged(ProductChangedEvent.created(product(id, "Teclado Alfa", 0)));
+        searchIndex.onProductChanged(ProductChangedEvent.updated(
+                product(id, "Teclado Alfa", 0), product(id, "Teclado Omega", 1)));
+
+        assertThat(searchIndex.search("omega", 0, 10)).containsExactly(id);
+        assertThat(searchIndex.search("alfa", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void eventsOlderThanTheIndexedVersionAreDropped() {
+        long id = 9_000_002L;
+        searchIndex.onProductChanged(ProductChangedEvent.created(product(id, "Monitor Zafiro", 0)));
+        searchIndex.onProductChanged(ProductChangedEvent.updated(
+                product(id, "Monitor Zafiro", 1), product(id, "Monitor Rubi", 2)));
+        searchIndex.onProductChanged(ProductChangedEvent.updated(
+                product(id, "Monitor Zafiro", 0), product(id, "Monitor Zafiro", 1)));
+        searchIndex.onProductChanged(ProductChangedEvent.deleted(product(id, "Monitor Zafiro", 1)));
+
+        assertThat(searchIndex.search("rubi", 0, 10)).containsExactly(id);
+        assertThat(searchIndex.search("zafiro", 0, 10)).isEmpty();
+
+        searchIndex.onProductChanged(ProductChangedEvent.deleted(product(id, "Monitor Rubi", 2)));
+        assertThat(searchIndex.search("rubi", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void lateUpdateAfterDeletionDoesNotReindexTheProduct() {
+        long id = 9_000_003L;
+        searchIndex.onProductChanged(ProductChangedEvent.created(product(id, "Altavoz Cuarzo", 0)));
+        searchIndex.onProductChanged(ProductChangedEvent.deleted(product(id, "Altavoz Cuarzo", 1)));
+        searchIndex.onProductChanged(ProductChangedEvent.updated(
+                product(id, "Altavoz Cuarzo", 0), product(id, "Altavoz Cuarzo", 1)));
+
+        assertThat(searchIndex.search("cuarzo", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void pagesFollowRelevanceThenId() {
+        long first = 9_000_100L;
+        // Las palabras exactas en el nombre puntúan más que los prefijos
+        for (long id = first; id < first + 5; id++) {
+            searchIndex.onProductChanged(ProductChangedEvent.created(product(id, "Lampara Granate", 0)));
+        }
+        for (long id = first + 5; id < first + 10; id++) {
+            searchIndex.onProductChanged(ProductChangedEvent.created(product(id, "Lampara Granates", 0)));
+        }
+
+        assertThat(searchIndex.search("granate", 0, 4))
+                .containsExactly(first, first + 1, first + 2, first + 3);
+        assertThat(searchIndex.search("granate", 1, 4))
+                .containsExactly(first + 4, first + 5, first + 6, first + 7);
+        assertThat(searchIndex.search("granate", 2, 4)).containsExactly(first + 8, first + 9);
+        assertThat(searchIndex.search("granate", 3, 4)).isEmpty();
+    }
+
+    private static ProductResponseDto product(long id, String name, long version) {
+        LocalDateTime now = LocalDateTime.now();
+        return new ProductResponseDto(id, name, "Accesorio de escritorio", new BigDecimal("10.00"), 5,
+                now, now, version);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.inventoryapi.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas del formato en disco del diario de stock
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+class StockJournalTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsDeltasSummedByProduct() throws Exception {
+        Path segment = writeSegment(new long[][] {{1, -2}, {2, 5}, {1, -3}});
+
+        Map<Long, Long> deltas = new HashMap<>();
+        assertThat(StockJournal.readDeltas(segment, deltas)).isZero();
+        assertThat(deltas).containsEntry(1L, -5L).containsEntry(2L, 5L).hasSize(2);
+    }
+
+    @Test
+    void stopsAtIncompleteTrailingRecord() throws Exception {
+        Path segment = writeSegment(new long[][] {{1, -2}});
+        Files.write(segment, new byte[] {1, 2, 3}, StandardOpenOption.APPEND);
+
+        Map<Long, Long> deltas = new HashMap<>();
+        assertThat(StockJournal.readDeltas(segment, deltas)).isEqualTo(3);
+        assertThat(deltas).containsExactlyEntriesOf(Map.of(1L, -2L));
+    }
+
+    @Test
+    void stopsAtFirstCorruptedRecord() throws Exception {
+        Path segment = writeSegment(new long[][] {{1, -2}, {2, 5}, {3, 7}});
+        byte[] bytes = Files.readAllBytes(segment);
+        // Un byte del delta del segundo registro: su CRC deja de coincidir
+        int recordSize = bytes.length / 3;
+        bytes[recordSize + 15] ^= 0x01;
+        Files.write(segment, bytes);
+
+        Map<Long, Long> deltas = new HashMap<>();
+        assertThat(StockJournal.readDeltas(segment, deltas)).isEqualTo(2L * recordSize);
+        assertThat(deltas).containsExactlyEntriesOf(Map.of(1L, -2L));
+    }
+
+    private Path writeSegment(long[][] records) throws Exception {
+        try (StockJournal journal = new StockJournal(directory, 1)) {
+            for (long[] record : records) {
+                journal.force(journal.append(record[0], record[1]));
+            }
+        }
+        return StockJournal.segments(directory).get(1L);
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.inventoryapi.service;
+
+import com.example.inventoryapi.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Pruebas del buffer de escritura diferida de stock
+ *
+ * La escritura diferida requiere una base de datos persistente, por lo que el
+ * contexto usa H2 en fichero en un directorio temporal. Cada prueba crea su
+ * propio buffer con un diario vacío y lo detiene al terminar; el volcado
+ * periódico se deja con un intervalo largo para que solo vuelquen stop() y
+ * detach().
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+@SpringBootTest
+@DirtiesContext
+class StockWriteBehindBufferTest {
+
+    private static final Path DATA_DIRECTORY = createDataDirectory();
+
+    @DynamicPropertySource
+    static void persistentDatabase(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url",
+                () -> "jdbc:h2:file:" + DATA_DIRECTORY.resolve("inventory") + ";DB_CLOSE_ON_EXIT=FALSE");
+    }
+
+    @TempDir
+    Path journalDirectory;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private StockWriteBehindBuffer buffer;
+
+    @AfterEach
+    void stopBuffer() {
+        if (buffer != null) {
+            buffer.stop();
+        }
+    }
+
+    @Test
+    void rejectsAdjustmentAboveMaximumQuantity() {
+        buffer = startBuffer();
+        int initial = quantity(1L);
+
+        assertThatThrownBy(() -> buffer.adjust(1L, Integer.MAX_VALUE))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(buffer.adjust(1L, -1)).isEqualTo(initial - 1);
+
+        buffer.stop();
+        buffer = null;
+        assertThat(quantity(1L)).isEqualTo(initial - 1);
+    }
+
+    @Test
+    void detachFlushesPendingAdjustmentsOnCommit() {
+        buffer = startBuffer();
+        int initial = quantity(2L);
+        long version = version(2L);
+        buffer.adjust(2L, -2);
+
+        Map<Long, Long> detached = new TransactionTemplate(transactionManager)
+                .execute(status -> buffer.detach(List.of(2L)));
+
+        assertThat(detached).containsExactlyEntriesOf(Map.of(2L, -2L));
+        assertThat(quantity(2L)).isEqualTo(initial - 2);
+        assertThat(version(2L)).isEqualTo(version + 1);
+        assertThat(buffer.isBuffered(2L)).isFalse();
+    }
+
+    @Test
+    void detachKeepsAdjustmentsPendingOnRollback() {
+        buffer = startBuffer();
+        int initial = quantity(5L);
+        buffer.adjust(5L, -3);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            buffer.detach(List.of(5L));
+            status.setRollbackOnly();
+        });
+
+        assertThat(quantity(5L)).isEqualTo(initial);
+        assertThat(buffer.isBuffered(5L)).isTrue();
+
+        buffer.stop();
+        buffer = null;
+        assertThat(quantity(5L)).isEqualTo(initial - 3);
+    }
+
+    @Test
+    void recoverAppliesUnflushedJournalSegments() throws Exception {
+        int initial = quantity(6L);
+        long segment = writeJournal(new long[][] {{6, -4}, {6, 1}});
+
+        buffer = startBuffer();
+
+        assertThat(quantity(6L)).isEqualTo(initial - 3);
+        assertThat(StockJournal.segments(journalDirectory)).doesNotContainKey(segment);
+    }
+
+    @Test
+    void recoverSkipsRowsThatWouldOverflowWithoutBlockingTheRest() throws Exception {
+        int overflowing = quantity(7L);
+        int valid = quantity(8L);
+        writeJournal(new long[][] {{7, Integer.MAX_VALUE}, {8, -1}});
+
+        buffer = startBuffer();
+
+        assertThat(quantity(7L)).isEqualTo(overflowing);
+        assertThat(quantity(8L)).isEqualTo(valid - 1);
+        assertThat(buffer.adjust(8L, -1)).isEqualTo(valid - 2);
+    }
+
+    private StockWriteBehindBuffer startBuffer() {
+        StockWriteBehindBuffer started = new StockWriteBehindBuffer(productRepository, jdbcTemplate,
+                transactionManager, eventPublisher, cacheManager, true, Duration.ofHours(1), journalDirectory);
+        started.start();
+        return started;
+    }
+
+    /**
+     * Escribe un segmento del diario posterior al último volcado, como si el
+     * proceso anterior hubiera terminado sin volcarlo
+     *
+     * @return número del segmento escrito
+     */
+    private long writeJournal(long[][] records) throws Exception {
+        long segment = jdbcTemplate.queryForObject(
+                "SELECT last_flushed_segment FROM stock_write_behind_state WHERE id = 1", Long.class) + 1;
+        try (StockJournal journal = new StockJournal(journalDirectory, segment)) {
+            for (long[] record : records) {
+                journal.force(journal.append(record[0], record[1]));
+            }
+        }
+        return segment;
+    }
+
+    private int quantity(Long id) {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM products WHERE id = ?", Integer.class, id);
+    }
+
+    private long version(Long id) {
+        return jdbcTemplate.queryForObject("SELECT version FROM products WHERE id = ?", Long.class, id);
+    }
+
+    private static Path createDataDirectory() {
+        try {
+            Path directory = Files.createTempDirectory("inventory-write-behind");
+            directory.toFile().deleteOnExit();
+            return directory;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.inventoryapi.web;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Pruebas de la negociación de gzip de la caché de respuestas
+ *
+ * @author Sistema de Inventario
+ * @version 1.0.0
+ */
+class ProductListResponseCacheTest {
+
+    @Test
+    void gzipIsAcceptedWhenListedWithPositiveQuality() {
+        assertThat(ProductListResponseCache.acceptsGzip("gzip")).isTrue();
+        assertThat(ProductListResponseCache.acceptsGzip("deflate, gzip;q=0.5, br")).isTrue();
+        assertThat(ProductListResponseCache.acceptsGzip("GZIP ; Q=1.0")).isTrue();
+        assertThat(ProductListResponseCache.acceptsGzip("x-gzip")).isTrue();
+        assertThat(ProductListResponseCache.acceptsGzip("*")).isTrue();
+    }
+
+    @Test
+    void gzipIsRefusedWithZeroQualityOrWhenAbsent() {
+        assertThat(ProductListResponseCache.acceptsGzip(null)).isFalse();
+        assertThat(ProductListResponseCache.acceptsGzip("identity")).isFalse();
+        assertThat(ProductListResponseCache.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(ProductListResponseCache.acceptsGzip("gzip; q=0.000, deflate")).isFalse();
+        assertThat(ProductListResponseCache.acceptsGzip("*, gzip;q=0")).isFalse();
+        assertThat(ProductListResponseCache.acceptsGzip("br, *;q=0")).isFalse();
+    }
+}